@@ -16,10 +16,10 @@ import java.util.Collections;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
+    private final JwtTokenCache jwtTokenCache;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
-        this.jwtUtil = jwtUtil;
+    public JwtAuthenticationFilter(JwtTokenCache jwtTokenCache) {
+        this.jwtTokenCache = jwtTokenCache;
     }
 
     @Override
@@ -31,10 +31,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
             
-            if (jwtUtil.validateToken(token) && !jwtUtil.isTokenExpired(token)) {
-                String username = jwtUtil.getUsernameFromToken(token);
-                String role = jwtUtil.getRoleFromToken(token);
-                Long userId = jwtUtil.getUserIdFromToken(token);
+            // Single verification per token; repeat requests are served from the cache
+            JwtTokenCache.VerifiedToken verified = jwtTokenCache.resolve(token);
+
+            if (verified != null) {
+                String username = verified.getUsername();
+                String role = verified.getRole();
+                Long userId = verified.getUserId();
                 
                 UsernamePasswordAuthenticationToken authentication = 
                     new UsernamePasswordAuthenticationToken(
@@ -0,0 +1,129 @@
+package com.example.printingApp.config;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of already verified access tokens, keyed by a SHA-256 digest of the token.
+ * Entries live until the token's own expiry, so a cache hit never skips a check the parser would make.
+ * When full, the least recently used entry is dropped on insert, so eviction is O(1).
+ */
+@Component
+public class JwtTokenCache {
+
+    private final JwtUtil jwtUtil;
+
+    @Value("${jwt.cache.max-size:1000}")
+    private int maxSize;
+
+    // Access-ordered, guarded by its own monitor; token parsing stays outside the lock
+    private final LinkedHashMap<String, VerifiedToken> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder parseCount = new LongAdder();
+    private final LongAdder parseNanos = new LongAdder();
+
+    public JwtTokenCache(JwtUtil jwtUtil) {
+        this.jwtUtil = jwtUtil;
+    }
+
+    // Returns the verified token, parsing and caching it on a miss; null if the token is invalid or expired
+    public VerifiedToken resolve(String token) {
+        String key = digest(token);
+        long now = System.currentTimeMillis();
+
+        synchronized (entries) {
+            VerifiedToken cached = entries.get(key);
+            if (cached != null) {
+                if (cached.getExpiresAt() > now) {
+                    hits.increment();
+                    return cached;
+                }
+                entries.remove(key);
+            }
+        }
+        misses.increment();
+
+        long start = System.nanoTime();
+        Claims claims = jwtUtil.parseClaims(token);
+        parseNanos.add(System.nanoTime() - start);
+        parseCount.increment();
+
+        if (claims == null || claims.getExpiration() == null) {
+            rejected.increment();
+            return null;
+        }
+
+        VerifiedToken verified = new VerifiedToken(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.get("userId", Long.class),
+                claims.getExpiration().getTime());
+
+        synchronized (entries) {
+            entries.put(key, verified);
+        }
+        return verified;
+    }
+
+    private String digest(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(md.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        long parses = parseCount.sum();
+        synchronized (entries) {
+            stats.put("size", entries.size());
+        }
+        stats.put("maxSize", maxSize);
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("parseCount", parses);
+        stats.put("parseTimeTotalMicros", parseNanos.sum() / 1000);
+        stats.put("parseTimeAvgMicros", parses == 0 ? 0 : parseNanos.sum() / parses / 1000);
+        return stats;
+    }
+
+    public static class VerifiedToken {
+        private final String username;
+        private final String role;
+        private final Long userId;
+        private final long expiresAt;
+
+        public VerifiedToken(String username, String role, Long userId, long expiresAt) {
+            this.username = username;
+            this.role = role;
+            this.userId = userId;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getUsername() { return username; }
+        public String getRole() { return role; }
+        public Long getUserId() { return userId; }
+        public long getExpiresAt() { return expiresAt; }
+    }
+}
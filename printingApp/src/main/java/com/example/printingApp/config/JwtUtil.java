@@ -23,8 +23,24 @@ public class JwtUtil {
     @Value("${jwt.refresh-expiration:604800000}") // 7 days in milliseconds
     private Long refreshTokenExpiration;
 
+    // Built once; both are immutable and thread-safe
+    private volatile SecretKey signingKey;
+    private volatile JwtParser jwtParser;
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        if (signingKey == null) {
+            signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        }
+        return signingKey;
+    }
+
+    private JwtParser getParser() {
+        if (jwtParser == null) {
+            jwtParser = Jwts.parserBuilder()
+                    .setSigningKey(getSigningKey())
+                    .build();
+        }
+        return jwtParser;
     }
 
     public String generateToken(String username, Long userId, String role) {
@@ -42,37 +58,40 @@ public class JwtUtil {
     }
 
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
+        Claims claims = getParser()
                 .parseClaimsJws(token)
                 .getBody();
         return claims.getSubject();
     }
 
     public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
+        Claims claims = getParser()
                 .parseClaimsJws(token)
                 .getBody();
         return claims.get("userId", Long.class);
     }
 
     public String getRoleFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
+        Claims claims = getParser()
                 .parseClaimsJws(token)
                 .getBody();
         return claims.get("role", String.class);
     }
 
+    // Verifies signature and expiry once and returns the claims, or null if the token is not usable
+    public Claims parseClaims(String token) {
+        try {
+            return getParser()
+                    .parseClaimsJws(token)
+                    .getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
+            getParser()
                     .parseClaimsJws(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
@@ -82,9 +101,7 @@ public class JwtUtil {
 
     public boolean isTokenExpired(String token) {
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
+            Claims claims = getParser()
                     .parseClaimsJws(token)
                     .getBody();
             return claims.getExpiration().before(new Date());
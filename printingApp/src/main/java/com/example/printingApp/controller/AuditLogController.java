@@ -1,5 +1,6 @@
 package com.example.printingApp.controller;
 
+import com.example.printingApp.dto.KeysetPage;
 import com.example.printingApp.model.AuditLog;
 import com.example.printingApp.service.AuditLogService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -80,19 +81,19 @@ public class AuditLogController {
 
     @GetMapping("/print-job/{printJobId}")
     public ResponseEntity<List<AuditLog>> getPrintJobAuditLogs(@PathVariable Long printJobId) {
-        // Get audit logs for all print job types for the given ID
-        List<AuditLog> auditLogs = auditLogService.getAuditLogsForEntity("PrintJob", printJobId);
-        
-        // Also check specific print job types
-        auditLogs.addAll(auditLogService.getAuditLogsForEntity("DigitalPrint", printJobId));
-        auditLogs.addAll(auditLogService.getAuditLogsForEntity("OffsetPrint", printJobId));
-        auditLogs.addAll(auditLogService.getAuditLogsForEntity("DuploPrint", printJobId));
-        auditLogs.addAll(auditLogService.getAuditLogsForEntity("SublimationPrint", printJobId));
-        auditLogs.addAll(auditLogService.getAuditLogsForEntity("OtherPrint", printJobId));
-        
-        // Sort by timestamp descending
-        auditLogs.sort((a, b) -> b.getTimestamp().compareTo(a.getTimestamp()));
-        
+        // Single query across all print job entity types, already sorted by the database
+        List<AuditLog> auditLogs = auditLogService.getPrintJobAuditLogs(printJobId);
         return ResponseEntity.ok(auditLogs);
     }
+
+    @GetMapping("/print-job/{printJobId}/timeline")
+    public ResponseEntity<KeysetPage<AuditLog>> getPrintJobAuditTimeline(
+            @PathVariable Long printJobId,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeTimestamp,
+            @RequestParam(required = false) Long beforeId) {
+        KeysetPage<AuditLog> timeline = auditLogService.getPrintJobAuditTimeline(
+                printJobId, beforeTimestamp, beforeId, Math.max(1, Math.min(size, 500)));
+        return ResponseEntity.ok(timeline);
+    }
 }
\ No newline at end of file
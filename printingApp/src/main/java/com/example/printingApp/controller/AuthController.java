@@ -1,6 +1,7 @@
 package com.example.printingApp.controller;
 
 import com.example.printingApp.config.JwtUtil;
+import com.example.printingApp.exception.PasswordHashingBusyException;
 import com.example.printingApp.model.RefreshToken;
 import com.example.printingApp.model.User;
 import com.example.printingApp.service.RefreshTokenService;
@@ -38,7 +39,7 @@ public class AuthController {
             
             Map<String, Object> response = new HashMap<>();
             response.put("accessToken", accessToken);
-            response.put("refreshToken", refreshToken.getToken());
+            response.put("refreshToken", refreshToken.getPlainToken());
             response.put("tokenType", "Bearer");
             response.put("expiresIn", jwtUtil.getJwtExpirationMs() / 1000); // seconds
             response.put("user", user);
@@ -48,6 +49,10 @@ public class AuthController {
             response.put("token", accessToken);
             
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingBusyException e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(errorResponse);
         } catch (RuntimeException e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("error", e.getMessage());
@@ -109,7 +114,7 @@ public class AuthController {
                         
                         Map<String, Object> response = new HashMap<>();
                         response.put("accessToken", newAccessToken);
-                        response.put("refreshToken", newRefreshToken.getToken());
+                        response.put("refreshToken", newRefreshToken.getPlainToken());
                         response.put("tokenType", "Bearer");
                         response.put("expiresIn", jwtUtil.getJwtExpirationMs() / 1000);
                         response.put("message", "Token refreshed successfully");
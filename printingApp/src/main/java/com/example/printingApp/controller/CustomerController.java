@@ -1,22 +1,39 @@
 package com.example.printingApp.controller;
 
+import com.example.printingApp.dto.CustomerLedgerPage;
+import com.example.printingApp.dto.CustomerListView;
+import com.example.printingApp.dto.CustomerSuggestion;
+import com.example.printingApp.dto.KeysetPage;
+import com.example.printingApp.dto.LedgerEntry;
+import com.example.printingApp.dto.PrintJobListView;
 import com.example.printingApp.model.*;
 import com.example.printingApp.service.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/customers")
 public class CustomerController {
+    private static final int MAX_SUGGESTIONS = 50;
+
     @Autowired
     private CustomerService customerService;
 
+    @Autowired
+    private PrintJobService printJobService;
+
+    @Autowired
+    private CustomerLedgerService customerLedgerService;
+
     @GetMapping
-    public List<Customer> getAllCustomers() {
+    public List<CustomerListView> getAllCustomers() {
         return customerService.getAllCustomers();
     }
 
@@ -28,10 +45,50 @@ public class CustomerController {
     }
 
     @GetMapping("/search")
-    public List<Customer> searchCustomers(@RequestParam String name) {
+    public List<CustomerListView> searchCustomers(@RequestParam String name) {
         return customerService.searchCustomers(name);
     }
 
+    // Lightweight matches for the customer picker
+    @GetMapping("/typeahead")
+    public List<CustomerSuggestion> suggestCustomers(@RequestParam String q,
+                                                     @RequestParam(defaultValue = "10") int limit) {
+        return customerService.suggestCustomers(q, Math.max(1, Math.min(limit, MAX_SUGGESTIONS)));
+    }
+
+    // Job history, newest first; pass nextCursorTimestamp/nextCursorId back as beforeCreatedAt/beforeId
+    @GetMapping("/{id}/print-jobs")
+    public ResponseEntity<KeysetPage<PrintJobListView>> getCustomerPrintJobs(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeCreatedAt,
+            @RequestParam(required = false) Long beforeId) {
+        if (!customerService.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        KeysetPage<PrintJobListView> page = printJobService.getCustomerPrintJobPage(
+                id, beforeCreatedAt, beforeId, Math.max(1, Math.min(size, 500)));
+        return ResponseEntity.ok(page);
+    }
+
+    // Statement of charges and payments with running balance, oldest first; pass
+    // nextCursorTimestamp/nextCursorType/nextCursorId/nextCursorBalance back as the matching after* params
+    @GetMapping("/{id}/ledger")
+    public ResponseEntity<CustomerLedgerPage> getCustomerLedger(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "100") int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterTimestamp,
+            @RequestParam(required = false) LedgerEntry.EntryType afterType,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) BigDecimal afterBalance) {
+        if (!customerService.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        CustomerLedgerPage page = customerLedgerService.getLedgerPage(
+                id, afterTimestamp, afterType, afterId, afterBalance, Math.max(1, Math.min(size, 500)));
+        return ResponseEntity.ok(page);
+    }
+
     @PostMapping
     public ResponseEntity<Customer> createCustomer(@RequestBody Customer customer) {
         Customer saved = customerService.saveCustomer(customer);
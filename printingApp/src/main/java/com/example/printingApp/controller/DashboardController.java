@@ -0,0 +1,37 @@
+package com.example.printingApp.controller;
+
+import com.example.printingApp.service.DailyPrintStatService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    @Autowired
+    private DailyPrintStatService dailyPrintStatService;
+
+    // Totals across all print types for an inclusive date range, read from daily_print_stats
+    @GetMapping("/print-stats")
+    public ResponseEntity<Map<String, Object>> getPrintStats(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(dailyPrintStatService.getTotals(startDate, endDate));
+    }
+
+    @PostMapping("/print-stats/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildPrintStats() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("rows", dailyPrintStatService.rebuild());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,10 +1,14 @@
 package com.example.printingApp.controller;
 
+import com.example.printingApp.exception.PrintJobNotFoundException;
+import com.example.printingApp.exception.VersionConflictException;
 import com.example.printingApp.model.*;
 import com.example.printingApp.service.*;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
@@ -19,6 +23,9 @@ public class DigitalPrintController {
     @Autowired
     private DigitalPrintService digitalPrintService;
 
+    @Autowired
+    private PrintJobPatchService printJobPatchService;
+
     @GetMapping
     public List<DigitalPrint> getAllDigitalPrints() {
         return digitalPrintService.getAllDigitalPrints();
@@ -45,13 +52,34 @@ public class DigitalPrintController {
 
     @PutMapping("/{id}")
     public ResponseEntity<DigitalPrint> updateDigitalPrint(@PathVariable Long id, @RequestBody DigitalPrint digitalPrint, HttpServletRequest request) {
-        return digitalPrintService.getDigitalPrintById(id)
-                .map(existingPrint -> {
-                    digitalPrint.setId(id);
-                    String userId = getCurrentUserId();
-                    return ResponseEntity.ok(digitalPrintService.saveDigitalPrint(digitalPrint, userId, request));
-                })
-                .orElse(ResponseEntity.notFound().build());
+        try {
+            String userId = getCurrentUserId();
+            return ResponseEntity.ok(digitalPrintService.updateDigitalPrint(id, digitalPrint, userId, request));
+        } catch (VersionConflictException | ObjectOptimisticLockingFailureException e) {
+            // Stale version: answer with the committed state so the client can merge and retry
+            return digitalPrintService.getDigitalPrintById(id)
+                    .map(current -> ResponseEntity.status(HttpStatus.CONFLICT).body(current))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (PrintJobNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // JSON merge patch: only the fields present in the body change
+    @PatchMapping("/{id}")
+    public ResponseEntity<DigitalPrint> patchDigitalPrint(@PathVariable Long id, @RequestBody JsonNode patch, HttpServletRequest request) {
+        try {
+            String userId = getCurrentUserId();
+            return ResponseEntity.ok(printJobPatchService.patch(DigitalPrint.class, "DigitalPrint", id, patch, userId, request));
+        } catch (VersionConflictException | ObjectOptimisticLockingFailureException e) {
+            return digitalPrintService.getDigitalPrintById(id)
+                    .map(current -> ResponseEntity.status(HttpStatus.CONFLICT).body(current))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (PrintJobNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @DeleteMapping("/{id}")
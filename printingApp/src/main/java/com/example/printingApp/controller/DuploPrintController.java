@@ -1,10 +1,15 @@
 package com.example.printingApp.controller;
 
+import com.example.printingApp.exception.PrintJobNotFoundException;
+import com.example.printingApp.exception.VersionConflictException;
 import com.example.printingApp.model.DuploPrint;
 import com.example.printingApp.service.DuploPrintService;
+import com.example.printingApp.service.PrintJobPatchService;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
@@ -20,6 +25,9 @@ public class DuploPrintController {
     @Autowired
     private DuploPrintService duploPrintService;
 
+    @Autowired
+    private PrintJobPatchService printJobPatchService;
+
     @GetMapping
     public ResponseEntity<List<DuploPrint>> getAllDuploPrints() {
         List<DuploPrint> duploPrints = duploPrintService.getAllDuploPrints();
@@ -56,6 +64,11 @@ public class DuploPrintController {
             String userId = getCurrentUserId();
             DuploPrint updatedDuploPrint = duploPrintService.updateDuploPrint(id, duploPrint, userId, request);
             return ResponseEntity.ok(updatedDuploPrint);
+        } catch (VersionConflictException | ObjectOptimisticLockingFailureException e) {
+            // Stale version: answer with the committed state so the client can merge and retry
+            return duploPrintService.getDuploPrintById(id)
+                    .map(current -> ResponseEntity.status(HttpStatus.CONFLICT).body(current))
+                    .orElse(ResponseEntity.notFound().build());
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -63,6 +76,23 @@ public class DuploPrintController {
         }
     }
 
+    // JSON merge patch: only the fields present in the body change
+    @PatchMapping("/{id}")
+    public ResponseEntity<DuploPrint> patchDuploPrint(@PathVariable Long id, @RequestBody JsonNode patch, HttpServletRequest request) {
+        try {
+            String userId = getCurrentUserId();
+            return ResponseEntity.ok(printJobPatchService.patch(DuploPrint.class, "DuploPrint", id, patch, userId, request));
+        } catch (VersionConflictException | ObjectOptimisticLockingFailureException e) {
+            return duploPrintService.getDuploPrintById(id)
+                    .map(current -> ResponseEntity.status(HttpStatus.CONFLICT).body(current))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (PrintJobNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteDuploPrint(@PathVariable Long id, HttpServletRequest request) {
         try {
@@ -1,6 +1,9 @@
 package com.example.printingApp.controller;
 
+import com.example.printingApp.dto.LoanSummary;
+import com.example.printingApp.model.AmortizationSchedule;
 import com.example.printingApp.model.Loan;
+import com.example.printingApp.service.LoanAmortizationService;
 import com.example.printingApp.service.LoanService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -8,7 +11,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/loans")
@@ -17,10 +22,13 @@ public class LoanController {
     @Autowired
     private LoanService loanService;
 
+    @Autowired
+    private LoanAmortizationService loanAmortizationService;
+
     // Basic endpoints only
     @GetMapping
-    public ResponseEntity<List<Loan>> getAllLoans() {
-        List<Loan> loans = loanService.getAllLoans();
+    public ResponseEntity<List<LoanSummary>> getAllLoans() {
+        List<LoanSummary> loans = loanService.getAllLoanSummaries();
         return ResponseEntity.ok(loans);
     }
 
@@ -32,14 +40,14 @@ public class LoanController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Loan>> getUserLoans(@PathVariable Long userId) {
-        List<Loan> loans = loanService.getLoansByUserId(userId);
+    public ResponseEntity<List<LoanSummary>> getUserLoans(@PathVariable Long userId) {
+        List<LoanSummary> loans = loanService.getLoanSummariesByUserId(userId);
         return ResponseEntity.ok(loans);
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Loan>> getLoansByStatus(@PathVariable Loan.LoanStatus status) {
-        List<Loan> loans = loanService.getLoansByStatus(status);
+    public ResponseEntity<List<LoanSummary>> getLoansByStatus(@PathVariable Loan.LoanStatus status) {
+        List<LoanSummary> loans = loanService.getLoanSummariesByStatus(status);
         return ResponseEntity.ok(loans);
     }
 
@@ -54,15 +62,39 @@ public class LoanController {
     }
 
     @PostMapping
-    public ResponseEntity<Loan> createLoan(@RequestBody Loan loan) {
+    public ResponseEntity<Loan> createLoan(@RequestBody Loan loan,
+                                           @RequestParam(defaultValue = "false") boolean generatePayments) {
         try {
-            Loan savedLoan = loanService.createLoan(loan);
+            Loan savedLoan = loanService.createLoan(loan, generatePayments);
             return ResponseEntity.status(HttpStatus.CREATED).body(savedLoan);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
     }
 
+    @GetMapping("/{id}/schedule")
+    public ResponseEntity<AmortizationSchedule> getLoanSchedule(@PathVariable Long id) {
+        try {
+            return loanService.getLoanById(id)
+                    .map(loan -> ResponseEntity.ok(loanAmortizationService.getSchedule(loan)))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    // Creates the installments that don't exist yet; safe to call again
+    @PostMapping("/{id}/schedule/generate")
+    public ResponseEntity<Map<String, Object>> generateLoanPayments(@PathVariable Long id) {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("created", loanAmortizationService.generatePayments(id));
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Loan> updateLoan(@PathVariable Long id, @RequestBody Loan loan) {
         try {
@@ -45,6 +45,12 @@ public class LoanPaymentController {
         return ResponseEntity.ok(payments);
     }
 
+    @GetMapping("/overdue")
+    public ResponseEntity<List<LoanPayment>> getOverduePayments() {
+        List<LoanPayment> payments = loanPaymentService.getOverduePayments();
+        return ResponseEntity.ok(payments);
+    }
+
     @GetMapping("/payment-methods")
     public ResponseEntity<List<LoanPayment.PaymentMethod>> getPaymentMethods() {
         return ResponseEntity.ok(Arrays.asList(LoanPayment.PaymentMethod.values()));
@@ -0,0 +1,56 @@
+package com.example.printingApp.controller;
+
+import com.example.printingApp.config.JwtTokenCache;
+import com.example.printingApp.service.AuditLogWriter;
+import com.example.printingApp.service.CustomerSearchIndex;
+import com.example.printingApp.service.OverdueStatusSweeper;
+import com.example.printingApp.service.PasswordHasher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    @Autowired
+    private JwtTokenCache jwtTokenCache;
+
+    @Autowired
+    private AuditLogWriter auditLogWriter;
+
+    @Autowired
+    private OverdueStatusSweeper overdueStatusSweeper;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private CustomerSearchIndex customerSearchIndex;
+
+    @GetMapping("/jwt-cache")
+    public Map<String, Object> getJwtCacheStats() {
+        return jwtTokenCache.getStats();
+    }
+
+    @GetMapping("/audit-writer")
+    public Map<String, Object> getAuditWriterStats() {
+        return auditLogWriter.getStats();
+    }
+
+    @GetMapping("/overdue-sweeper")
+    public Map<String, Object> getOverdueSweeperStats() {
+        return overdueStatusSweeper.getStats();
+    }
+
+    @GetMapping("/password-hashing")
+    public Map<String, Object> getPasswordHashingStats() {
+        return passwordHasher.getStats();
+    }
+
+    @GetMapping("/customer-search")
+    public Map<String, Object> getCustomerSearchStats() {
+        return customerSearchIndex.getStats();
+    }
+}
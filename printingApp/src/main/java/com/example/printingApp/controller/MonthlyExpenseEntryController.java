@@ -10,12 +10,15 @@ import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/monthly-expense-entries")
 public class MonthlyExpenseEntryController {
 
+    private static final int MAX_SUMMARY_YEARS = 10;
+
     @Autowired
     private MonthlyExpenseEntryService monthlyExpenseEntryService;
 
@@ -77,24 +80,40 @@ public class MonthlyExpenseEntryController {
     @GetMapping("/summary/{year}/{month}")
     public ResponseEntity<MonthlyExpenseSummary> getMonthlySummary(@PathVariable int year, @PathVariable int month) {
         try {
-            BigDecimal totalExpenses = monthlyExpenseEntryService.getTotalExpensesForMonth(year, month);
-            BigDecimal totalPaid = monthlyExpenseEntryService.getTotalPaidExpensesForMonth(year, month);
-            BigDecimal totalUnpaid = monthlyExpenseEntryService.getTotalUnpaidExpensesForMonth(year, month);
-            List<MonthlyExpenseEntry> entries = monthlyExpenseEntryService.getEntriesForMonth(year, month);
-
-            MonthlyExpenseSummary summary = new MonthlyExpenseSummary(
-                    year, month, totalExpenses, totalPaid, totalUnpaid, entries.size(),
-                    (int) entries.stream().filter(e -> e.getPaymentStatus() == MonthlyExpenseEntry.PaymentStatus.PAID).count(),
-                    (int) entries.stream().filter(e -> e.getPaymentStatus() == MonthlyExpenseEntry.PaymentStatus.UNPAID).count(),
-                    (int) entries.stream().filter(e -> e.getPaymentStatus() == MonthlyExpenseEntry.PaymentStatus.OVERDUE).count()
-            );
-
+            MonthlyExpenseSummary summary = MonthlyExpenseSummary.empty(year, month);
+            for (Object[] row : monthlyExpenseEntryService.getStatusTotalsForMonth(year, month)) {
+                summary.add((MonthlyExpenseEntry.PaymentStatus) row[0], ((Number) row[1]).intValue(), (BigDecimal) row[2]);
+            }
             return ResponseEntity.ok(summary);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    // One summary per month of the year range (12 rows per year, empty months zero-filled), for the yearly chart
+    @GetMapping("/summary/year-range/{startYear}/{endYear}")
+    public ResponseEntity<List<MonthlyExpenseSummary>> getYearRangeSummary(@PathVariable int startYear, @PathVariable int endYear) {
+        if (endYear < startYear || endYear - startYear >= MAX_SUMMARY_YEARS) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            List<MonthlyExpenseSummary> summaries = new ArrayList<>();
+            for (int year = startYear; year <= endYear; year++) {
+                for (int month = 1; month <= 12; month++) {
+                    summaries.add(MonthlyExpenseSummary.empty(year, month));
+                }
+            }
+            for (Object[] row : monthlyExpenseEntryService.getStatusTotalsForYearRange(startYear, endYear)) {
+                int index = ((Integer) row[0] - startYear) * 12 + (Integer) row[1] - 1;
+                summaries.get(index).add((MonthlyExpenseEntry.PaymentStatus) row[2],
+                        ((Number) row[3]).intValue(), (BigDecimal) row[4]);
+            }
+            return ResponseEntity.ok(summaries);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @PostMapping
     public ResponseEntity<MonthlyExpenseEntry> createEntry(@RequestBody MonthlyExpenseEntry entry) {
         try {
@@ -180,6 +199,26 @@ public class MonthlyExpenseEntryController {
             this.overdueEntries = overdueEntries;
         }
 
+        public static MonthlyExpenseSummary empty(int year, int month) {
+            return new MonthlyExpenseSummary(year, month, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, 0, 0, 0, 0);
+        }
+
+        // Folds one (status, count, sum) row into the totals; overdue counts as unpaid, as in the total queries
+        public void add(MonthlyExpenseEntry.PaymentStatus status, int count, BigDecimal amount) {
+            totalEntries += count;
+            totalExpenses = totalExpenses.add(amount);
+            if (status == MonthlyExpenseEntry.PaymentStatus.PAID) {
+                paidEntries += count;
+                totalPaid = totalPaid.add(amount);
+            } else if (status == MonthlyExpenseEntry.PaymentStatus.UNPAID) {
+                unpaidEntries += count;
+                totalUnpaid = totalUnpaid.add(amount);
+            } else if (status == MonthlyExpenseEntry.PaymentStatus.OVERDUE) {
+                overdueEntries += count;
+                totalUnpaid = totalUnpaid.add(amount);
+            }
+        }
+
         // Getters
         public int getYear() { return year; }
         public int getMonth() { return month; }
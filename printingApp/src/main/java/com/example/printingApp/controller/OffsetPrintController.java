@@ -1,12 +1,17 @@
 package com.example.printingApp.controller;
 
+import com.example.printingApp.exception.PrintJobNotFoundException;
+import com.example.printingApp.exception.VersionConflictException;
 import com.example.printingApp.model.OffsetPrint;
 import com.example.printingApp.model.Supplier;
 import com.example.printingApp.service.OffsetPrintService;
+import com.example.printingApp.service.PrintJobPatchService;
 import com.example.printingApp.service.SupplierService;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
@@ -23,6 +28,9 @@ public class OffsetPrintController {
     @Autowired
     private OffsetPrintService offsetPrintService;
 
+    @Autowired
+    private PrintJobPatchService printJobPatchService;
+
 
     @GetMapping
     public List<Map<String, Object>> getAllOffsetPrints() {
@@ -56,13 +64,34 @@ public class OffsetPrintController {
 
     @PutMapping("/{id}")
     public ResponseEntity<OffsetPrint> updateOffsetPrint(@PathVariable Long id, @RequestBody OffsetPrint offsetPrint, HttpServletRequest request) {
-        return offsetPrintService.getOffsetPrintById(id)
-                .map(existingPrint -> {
-                    offsetPrint.setId(id);
-                    String userId = getCurrentUserId();
-                    return ResponseEntity.ok(offsetPrintService.saveOffsetPrint(offsetPrint, userId, request));
-                })
-                .orElse(ResponseEntity.notFound().build());
+        try {
+            String userId = getCurrentUserId();
+            return ResponseEntity.ok(offsetPrintService.updateOffsetPrint(id, offsetPrint, userId, request));
+        } catch (VersionConflictException | ObjectOptimisticLockingFailureException e) {
+            // Stale version: answer with the committed state so the client can merge and retry
+            return offsetPrintService.getOffsetPrintById(id)
+                    .map(current -> ResponseEntity.status(HttpStatus.CONFLICT).body(current))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (PrintJobNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // JSON merge patch: only the fields present in the body change
+    @PatchMapping("/{id}")
+    public ResponseEntity<OffsetPrint> patchOffsetPrint(@PathVariable Long id, @RequestBody JsonNode patch, HttpServletRequest request) {
+        try {
+            String userId = getCurrentUserId();
+            return ResponseEntity.ok(printJobPatchService.patch(OffsetPrint.class, "OffsetPrint", id, patch, userId, request));
+        } catch (VersionConflictException | ObjectOptimisticLockingFailureException e) {
+            return offsetPrintService.getOffsetPrintById(id)
+                    .map(current -> ResponseEntity.status(HttpStatus.CONFLICT).body(current))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (PrintJobNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @DeleteMapping("/{id}")
@@ -1,10 +1,16 @@
 package com.example.printingApp.controller;
 
+import com.example.printingApp.exception.PrintJobNotFoundException;
+import com.example.printingApp.exception.VersionConflictException;
 import com.example.printingApp.model.OtherPrint;
 import com.example.printingApp.service.OtherPrintService;
+import com.example.printingApp.service.PrintJobPatchService;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +30,9 @@ public class OtherPrintController {
     @Autowired
     private OtherPrintService otherPrintService;
 
+    @Autowired
+    private PrintJobPatchService printJobPatchService;
+
     @GetMapping
     public List<OtherPrint> getAllOtherPrints() {
         return otherPrintService.getAllOtherPrints();
@@ -71,6 +80,11 @@ public class OtherPrintController {
             String userId = getCurrentUserId();
             OtherPrint updatedPrint = otherPrintService.updateOtherPrint(id, otherPrint, userId, request);
             return ResponseEntity.ok(updatedPrint);
+        } catch (VersionConflictException | ObjectOptimisticLockingFailureException e) {
+            // Stale version: answer with the committed state so the client can merge and retry
+            return otherPrintService.getOtherPrintById(id)
+                    .map(current -> ResponseEntity.status(HttpStatus.CONFLICT).body(current))
+                    .orElse(ResponseEntity.notFound().build());
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -79,6 +93,23 @@ public class OtherPrintController {
         }
     }
 
+    // JSON merge patch: only the fields present in the body change
+    @PatchMapping("/{id}")
+    public ResponseEntity<OtherPrint> patchOtherPrint(@PathVariable Long id, @RequestBody JsonNode patch, HttpServletRequest request) {
+        try {
+            String userId = getCurrentUserId();
+            return ResponseEntity.ok(printJobPatchService.patch(OtherPrint.class, "OtherPrint", id, patch, userId, request));
+        } catch (VersionConflictException | ObjectOptimisticLockingFailureException e) {
+            return otherPrintService.getOtherPrintById(id)
+                    .map(current -> ResponseEntity.status(HttpStatus.CONFLICT).body(current))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (PrintJobNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteOtherPrint(@PathVariable Long id, HttpServletRequest request) {
         try {
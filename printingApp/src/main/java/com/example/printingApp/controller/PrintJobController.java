@@ -1,8 +1,13 @@
 package com.example.printingApp.controller;
 
+import com.example.printingApp.dto.BatchPaymentItem;
+import com.example.printingApp.dto.BatchPaymentResult;
+import com.example.printingApp.dto.KeysetPage;
+import com.example.printingApp.dto.PrintJobListView;
 import com.example.printingApp.model.*;
 import com.example.printingApp.service.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -10,13 +15,18 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.servlet.http.HttpServletRequest;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/print-jobs")
 public class PrintJobController {
     @Autowired
     private PrintJobService printJobService;
+    @Autowired
+    private PaymentBatchService paymentBatchService;
 
     @GetMapping
     public List<PrintJob> getAllPrintJobs() {
@@ -32,6 +42,17 @@ public class PrintJobController {
         return printJobs;
     }
 
+    // Paged list of flat rows; pass nextCursorTimestamp/nextCursorId back as beforeCreatedAt/beforeId
+    @GetMapping("/page")
+    public ResponseEntity<KeysetPage<PrintJobListView>> getPrintJobPage(
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeCreatedAt,
+            @RequestParam(required = false) Long beforeId) {
+        KeysetPage<PrintJobListView> page = printJobService.getPrintJobPage(
+                beforeCreatedAt, beforeId, Math.max(1, Math.min(size, 500)));
+        return ResponseEntity.ok(page);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<PrintJob> getPrintJobById(@PathVariable Long id) {
         return printJobService.getPrintJobById(id)
@@ -60,6 +81,24 @@ public class PrintJobController {
         }
     }
 
+    // Bulk reconciliation: each item gets its own result, so partial failures don't reject the whole upload
+    @PostMapping("/payments/batch")
+    public ResponseEntity<Map<String, Object>> recordPayments(@RequestBody List<BatchPaymentItem> items, HttpServletRequest request) {
+        if (items == null || items.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        String userId = getCurrentUserId();
+        List<BatchPaymentResult> results = paymentBatchService.recordPayments(items, userId, request);
+
+        long applied = results.stream().filter(BatchPaymentResult::isSuccess).count();
+        Map<String, Object> response = new HashMap<>();
+        response.put("total", results.size());
+        response.put("applied", applied);
+        response.put("failed", results.size() - applied);
+        response.put("results", results);
+        return ResponseEntity.ok(response);
+    }
+
     private String getCurrentUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null && authentication.getDetails() instanceof Long) {
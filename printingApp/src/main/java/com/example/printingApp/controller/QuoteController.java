@@ -0,0 +1,55 @@
+package com.example.printingApp.controller;
+
+import com.example.printingApp.dto.QuoteItem;
+import com.example.printingApp.dto.QuoteResult;
+import com.example.printingApp.service.QuoteService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/quotes")
+public class QuoteController {
+
+    private static final int MAX_ITEMS = 500;
+
+    @Autowired
+    private QuoteService quoteService;
+
+    // Prices a batch of candidate jobs without saving anything; totals cover the items that could be priced
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> quote(@RequestBody List<QuoteItem> items) {
+        if (items == null || items.isEmpty() || items.size() > MAX_ITEMS) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<QuoteResult> results = quoteService.quote(items);
+
+        BigDecimal subtotal = BigDecimal.ZERO;
+        BigDecimal profit = BigDecimal.ZERO;
+        BigDecimal total = BigDecimal.ZERO;
+        long quoted = 0;
+        for (QuoteResult result : results) {
+            if (result.isSuccess()) {
+                quoted++;
+                subtotal = subtotal.add(result.getSubtotal());
+                profit = profit.add(result.getProfit());
+                total = total.add(result.getTotalAmount());
+            }
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("total", results.size());
+        response.put("quoted", quoted);
+        response.put("failed", results.size() - quoted);
+        response.put("subtotal", subtotal);
+        response.put("profit", profit);
+        response.put("totalAmount", total);
+        response.put("results", results);
+        return ResponseEntity.ok(response);
+    }
+}
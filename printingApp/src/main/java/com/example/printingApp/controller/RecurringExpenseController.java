@@ -3,13 +3,17 @@ package com.example.printingApp.controller;
 import com.example.printingApp.model.*;
 import com.example.printingApp.service.RecurringExpenseService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.YearMonth;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/recurring-expenses")
@@ -123,6 +127,58 @@ public class RecurringExpenseController {
         }
     }
 
+    // Backfill a range of months (yyyy-MM, inclusive), at most five years at a time
+    @PostMapping("/generate")
+    public ResponseEntity<Map<String, Object>> generateMonthlyEntriesForRange(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        if (to.isBefore(from) || from.plusMonths(60).isBefore(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("generated", recurringExpenseService.generateMonthlyEntries(from, to));
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // Projected outflow per month and category; defaults to the next 12 months
+    @GetMapping("/forecast")
+    public ResponseEntity<Map<String, Object>> getForecast(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        YearMonth start = from != null ? from : YearMonth.now();
+        YearMonth end = to != null ? to : start.plusMonths(11);
+        if (end.isBefore(start) || start.plusMonths(60).isBefore(end)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(recurringExpenseService.getForecast(start, end));
+    }
+
+    // Same forecast, optionally also writing the missing auto-generated entries for the range
+    @PostMapping("/forecast")
+    public ResponseEntity<Map<String, Object>> forecastAndBackfill(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @RequestParam(defaultValue = "false") boolean persist) {
+        YearMonth start = from != null ? from : YearMonth.now();
+        YearMonth end = to != null ? to : start.plusMonths(11);
+        if (end.isBefore(start) || start.plusMonths(60).isBefore(end)) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            Map<String, Object> forecast = recurringExpenseService.getForecast(start, end);
+            if (persist) {
+                forecast.put("generated", recurringExpenseService.generateMonthlyEntries(start, end));
+            }
+            return ResponseEntity.ok(forecast);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @PostMapping("/auto-generate")
     public ResponseEntity<Void> autoGenerateCurrentMonth() {
         try {
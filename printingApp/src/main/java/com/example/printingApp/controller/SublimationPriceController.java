@@ -4,6 +4,7 @@ import com.example.printingApp.model.SublimationPrice;
 import com.example.printingApp.model.SublimationType;
 import com.example.printingApp.service.SublimationPriceService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -12,7 +13,6 @@ import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/sublimation-prices")
@@ -60,13 +60,7 @@ public class SublimationPriceController {
 
     @GetMapping("/current-prices")
     public ResponseEntity<Map<SublimationType, BigDecimal>> getCurrentPrices() {
-        List<SublimationPrice> activePrices = sublimationPriceService.getAllActivePrices();
-        Map<SublimationType, BigDecimal> priceMap = activePrices.stream()
-                .collect(Collectors.toMap(
-                        SublimationPrice::getSublimationType,
-                        SublimationPrice::getUnitPrice
-                ));
-        return ResponseEntity.ok(priceMap);
+        return ResponseEntity.ok(sublimationPriceService.getCurrentPrices());
     }
 
     @PostMapping
@@ -74,6 +68,9 @@ public class SublimationPriceController {
         try {
             SublimationPrice savedPrice = sublimationPriceService.savePrice(price);
             return ResponseEntity.status(HttpStatus.CREATED).body(savedPrice);
+        } catch (DataIntegrityViolationException e) {
+            // Another active price for the type was committed concurrently
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
@@ -84,6 +81,8 @@ public class SublimationPriceController {
         try {
             SublimationPrice updatedPrice = sublimationPriceService.updatePrice(id, price);
             return ResponseEntity.ok(updatedPrice);
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -116,6 +115,8 @@ public class SublimationPriceController {
         try {
             sublimationPriceService.activatePrice(id);
             return ResponseEntity.ok().build();
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (Exception e) {
             return ResponseEntity.notFound().build();
         }
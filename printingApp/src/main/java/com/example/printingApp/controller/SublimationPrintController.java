@@ -1,11 +1,16 @@
 package com.example.printingApp.controller;
 
+import com.example.printingApp.exception.PrintJobNotFoundException;
+import com.example.printingApp.exception.VersionConflictException;
 import com.example.printingApp.model.SublimationPrint;
 import com.example.printingApp.model.SublimationType;
 import com.example.printingApp.service.SublimationPrintService;
+import com.example.printingApp.service.PrintJobPatchService;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
@@ -23,6 +28,9 @@ public class SublimationPrintController {
     @Autowired
     private SublimationPrintService sublimationPrintService;
 
+    @Autowired
+    private PrintJobPatchService printJobPatchService;
+
     @GetMapping
     public ResponseEntity<List<SublimationPrint>> getAllSublimationPrints() {
         List<SublimationPrint> prints = sublimationPrintService.getAllSublimationPrints();
@@ -76,6 +84,11 @@ public class SublimationPrintController {
             String userId = getCurrentUserId();
             SublimationPrint updatedPrint = sublimationPrintService.updateSublimationPrint(id, sublimationPrint, userId, request);
             return ResponseEntity.ok(updatedPrint);
+        } catch (VersionConflictException | ObjectOptimisticLockingFailureException e) {
+            // Stale version: answer with the committed state so the client can merge and retry
+            return sublimationPrintService.getSublimationPrintById(id)
+                    .map(current -> ResponseEntity.status(HttpStatus.CONFLICT).body(current))
+                    .orElse(ResponseEntity.notFound().build());
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -83,6 +96,23 @@ public class SublimationPrintController {
         }
     }
 
+    // JSON merge patch: only the fields present in the body change
+    @PatchMapping("/{id}")
+    public ResponseEntity<SublimationPrint> patchSublimationPrint(@PathVariable Long id, @RequestBody JsonNode patch, HttpServletRequest request) {
+        try {
+            String userId = getCurrentUserId();
+            return ResponseEntity.ok(printJobPatchService.patch(SublimationPrint.class, "SublimationPrint", id, patch, userId, request));
+        } catch (VersionConflictException | ObjectOptimisticLockingFailureException e) {
+            return sublimationPrintService.getSublimationPrintById(id)
+                    .map(current -> ResponseEntity.status(HttpStatus.CONFLICT).body(current))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (PrintJobNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteSublimationPrint(@PathVariable Long id, HttpServletRequest request) {
         try {
@@ -0,0 +1,11 @@
+package com.example.printingApp.dto;
+
+import com.example.printingApp.model.Payment;
+import lombok.Data;
+
+// One line of a bulk payment upload
+@Data
+public class BatchPaymentItem {
+    private Long printJobId;
+    private Payment payment;
+}
@@ -0,0 +1,26 @@
+package com.example.printingApp.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+// Outcome of one line of a bulk payment upload; totals are the job's state after its group was applied
+@Data
+public class BatchPaymentResult {
+    private int index;
+    private Long printJobId;
+    private boolean success;
+    private String message;
+    private BigDecimal amountPaid;
+    private BigDecimal balance;
+    private String paymentStatus;
+
+    public static BatchPaymentResult failed(int index, Long printJobId, String message) {
+        BatchPaymentResult result = new BatchPaymentResult();
+        result.setIndex(index);
+        result.setPrintJobId(printJobId);
+        result.setSuccess(false);
+        result.setMessage(message);
+        return result;
+    }
+}
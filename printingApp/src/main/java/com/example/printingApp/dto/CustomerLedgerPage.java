@@ -0,0 +1,24 @@
+package com.example.printingApp.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// One page of a customer statement, oldest first; pass the next cursor back as after* to continue
+@Data
+@NoArgsConstructor
+public class CustomerLedgerPage {
+    private Long customerId;
+    private List<LedgerEntry> items;
+    // Balance after every entry; only filled on the first page
+    private BigDecimal closingBalance;
+    private LocalDateTime nextCursorTimestamp;
+    private LedgerEntry.EntryType nextCursorType;
+    private Long nextCursorId;
+    // Running balance at the cursor, so the next page continues from it without re-reading history
+    private BigDecimal nextCursorBalance;
+    private boolean hasMore;
+}
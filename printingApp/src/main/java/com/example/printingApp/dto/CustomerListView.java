@@ -0,0 +1,18 @@
+package com.example.printingApp.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Customer row for list and search screens, with job totals from one grouped query
+public interface CustomerListView {
+    Long getId();
+    String getCustomerNumber();
+    String getName();
+    String getEmail();
+    String getPhone();
+    String getAddress();
+    LocalDateTime getCreatedAt();
+    Long getJobCount();
+    BigDecimal getTotalBilled();
+    BigDecimal getOutstandingBalance();
+}
@@ -0,0 +1,16 @@
+package com.example.printingApp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Typeahead match for the customer picker
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerSuggestion {
+    private Long id;
+    private String customerNumber;
+    private String name;
+    private String phone;
+}
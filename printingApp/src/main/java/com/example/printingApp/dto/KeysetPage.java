@@ -0,0 +1,19 @@
+package com.example.printingApp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// One page of a (timestamp, id) keyset scan; pass the next cursor back to continue
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPage<T> {
+    private List<T> items;
+    private LocalDateTime nextCursorTimestamp;
+    private Long nextCursorId;
+    private boolean hasMore;
+}
@@ -0,0 +1,31 @@
+package com.example.printingApp.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// One statement line: a job charge (debit), a payment against it (credit), or an adjustment
+@Data
+@NoArgsConstructor
+public class LedgerEntry {
+    private EntryType entryType;
+    // Payment id for payments, print job id otherwise
+    private Long entryId;
+    private LocalDateTime entryAt;
+    private Long printJobId;
+    private String jobNumber;
+    private String description;
+    private BigDecimal debit;
+    private BigDecimal credit;
+    private BigDecimal runningBalance;
+
+    // Declared in statement order: on the same timestamp a charge precedes its payments.
+    // ADJUSTMENT covers amount paid that was set directly on the job (the Other print payment
+    // endpoint, full updates) rather than recorded as a payment, so the statement ends at the
+    // same outstanding balance the customer list shows.
+    public enum EntryType {
+        CHARGE, PAYMENT, ADJUSTMENT
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.printingApp.dto;
+
+import com.example.printingApp.model.Loan;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+
+/**
+ * Loan row for list endpoints. Paid amount and completed count come from a grouped aggregate over
+ * loan_payments; the remaining metrics are derived from those exactly as the Loan getters do.
+ */
+@Data
+@NoArgsConstructor
+public class LoanSummary {
+    private Long id;
+    private String loanName;
+    private BigDecimal principalAmount;
+    private BigDecimal interestRate;
+    private Integer loanTermMonths;
+    private BigDecimal monthlyPayment;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Loan.LoanStatus status;
+    private Loan.LoanType loanType;
+    private String description;
+    private String lender;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    private BigDecimal totalAmountToPay;
+    private BigDecimal totalInterest;
+    private BigDecimal paidAmount;
+    private BigDecimal outstandingBalance;
+    private Integer completedPayments;
+    private Integer remainingPayments;
+    private LocalDate nextPaymentDate;
+    private Double completionPercentage;
+    private Boolean overdue;
+    private Integer monthsRemaining;
+
+    // Used by the JPQL constructor expression in LoanRepository
+    public LoanSummary(Long id, String loanName, BigDecimal principalAmount, BigDecimal interestRate,
+                       Integer loanTermMonths, BigDecimal monthlyPayment, LocalDate startDate, LocalDate endDate,
+                       Loan.LoanStatus status, Loan.LoanType loanType, String description, String lender,
+                       LocalDateTime createdAt, LocalDateTime updatedAt, BigDecimal paidAmount, Long completedPayments) {
+        this.id = id;
+        this.loanName = loanName;
+        this.principalAmount = principalAmount;
+        this.interestRate = interestRate;
+        this.loanTermMonths = loanTermMonths;
+        this.monthlyPayment = monthlyPayment;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.status = status;
+        this.loanType = loanType;
+        this.description = description;
+        this.lender = lender;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.paidAmount = paidAmount != null ? paidAmount : BigDecimal.ZERO;
+        this.completedPayments = completedPayments != null ? completedPayments.intValue() : 0;
+
+        int term = loanTermMonths != null ? loanTermMonths : 0;
+        this.totalAmountToPay = monthlyPayment != null ? monthlyPayment.multiply(BigDecimal.valueOf(term)) : BigDecimal.ZERO;
+        this.totalInterest = principalAmount != null ? totalAmountToPay.subtract(principalAmount) : BigDecimal.ZERO;
+        this.outstandingBalance = totalAmountToPay.subtract(this.paidAmount);
+        this.remainingPayments = term - this.completedPayments;
+        this.nextPaymentDate = startDate == null || this.completedPayments >= term
+                ? null : startDate.plusMonths(this.completedPayments + 1);
+        this.completionPercentage = term == 0 ? 0.0 : (this.completedPayments.doubleValue() / term) * 100;
+
+        LocalDate today = LocalDate.now();
+        this.overdue = nextPaymentDate != null && nextPaymentDate.isBefore(today);
+        if (nextPaymentDate == null || endDate == null) {
+            this.monthsRemaining = 0;
+        } else {
+            Period period = Period.between(today, endDate);
+            this.monthsRemaining = period.getYears() * 12 + period.getMonths();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.printingApp.dto;
+
+import java.math.BigDecimal;
+
+// Payment columns of a print_jobs row, read back after an in-database increment
+public interface PaymentTotalsView {
+    Long getId();
+    String getPrintType();
+    BigDecimal getAmountPaid();
+    BigDecimal getBalance();
+    String getPaymentStatus();
+    Long getVersion();
+}
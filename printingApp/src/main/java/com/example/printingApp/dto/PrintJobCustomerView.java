@@ -0,0 +1,7 @@
+package com.example.printingApp.dto;
+
+// Minimal print job projection used to enrich audit rows
+public interface PrintJobCustomerView {
+    Long getId();
+    String getCustomerName();
+}
@@ -0,0 +1,19 @@
+package com.example.printingApp.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Flat print job row for list screens, read from print_jobs + customers only
+public interface PrintJobListView {
+    Long getId();
+    String getJobNumber();
+    String getJobName();
+    String getPrintType();
+    Long getCustomerId();
+    String getCustomerName();
+    BigDecimal getTotalAmount();
+    BigDecimal getAmountPaid();
+    BigDecimal getBalance();
+    String getPaymentStatus();
+    LocalDateTime getCreatedAt();
+}
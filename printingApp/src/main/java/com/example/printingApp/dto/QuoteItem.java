@@ -0,0 +1,37 @@
+package com.example.printingApp.dto;
+
+import com.example.printingApp.model.PrintExpense;
+import com.example.printingApp.model.PrintJob;
+import com.example.printingApp.model.SublimationType;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+// One candidate job to price; only the fields used by its print type's formula are read
+@Data
+public class QuoteItem {
+    private PrintJob.PrintType printType;
+
+    // Sublimation
+    private SublimationType sublimationType;
+    private Integer quantity;
+    private BigDecimal unitPrice; // falls back to the active master price
+
+    // Duplo
+    private BigDecimal baseCost;
+
+    // Duplo and sublimation
+    private BigDecimal otherExpenses;
+    private Integer profitPercentage;
+
+    // Offset
+    private BigDecimal supplierJobAmount;
+
+    // Digital, offset and other prints are priced by hand
+    private BigDecimal totalAmount;
+    private BigDecimal totalCost;
+
+    private List<PrintExpense> expenses = new ArrayList<>();
+}
@@ -0,0 +1,27 @@
+package com.example.printingApp.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+// Price of one quoted item: subtotal is the cost side, profit = totalAmount - subtotal
+@Data
+public class QuoteResult {
+    private int index;
+    private String printType;
+    private boolean success;
+    private String message;
+    private BigDecimal unitPrice;
+    private BigDecimal subtotal;
+    private BigDecimal profit;
+    private BigDecimal totalAmount;
+
+    public static QuoteResult failed(int index, String printType, String message) {
+        QuoteResult result = new QuoteResult();
+        result.setIndex(index);
+        result.setPrintType(printType);
+        result.setSuccess(false);
+        result.setMessage(message);
+        return result;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.printingApp.exception;
+
+// Password verification could not be scheduled in time; the caller should retry shortly
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException() {
+        super("Too many sign-in attempts in progress, please retry shortly");
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.printingApp.exception;
+
+// Thrown when the print job addressed by a request does not exist
+public class PrintJobNotFoundException extends RuntimeException {
+
+    public PrintJobNotFoundException(String entityType, Long id) {
+        super(entityType + " not found with id: " + id);
+    }
+}
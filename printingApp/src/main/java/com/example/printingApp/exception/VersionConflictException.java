@@ -0,0 +1,22 @@
+package com.example.printingApp.exception;
+
+// Thrown when an update was made against an older version of a print job
+public class VersionConflictException extends RuntimeException {
+
+    private final Long entityId;
+    private final Long currentVersion;
+
+    public VersionConflictException(Long entityId, Long currentVersion) {
+        super("Print job " + entityId + " was modified by someone else (current version " + currentVersion + ")");
+        this.entityId = entityId;
+        this.currentVersion = currentVersion;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public Long getCurrentVersion() {
+        return currentVersion;
+    }
+}
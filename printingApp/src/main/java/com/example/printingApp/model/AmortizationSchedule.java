@@ -0,0 +1,108 @@
+package com.example.printingApp.model;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Full amortization schedule of a fixed-rate loan, computed in one pass with BigDecimal.
+ * Interest is rounded to cents each month and the last installment absorbs the rounding remainder,
+ * so the principal components always add up to the loan principal.
+ */
+public class AmortizationSchedule {
+
+    private static final MathContext PRECISION = MathContext.DECIMAL128;
+
+    private final BigDecimal monthlyPayment;
+    private final List<Installment> installments;
+
+    private AmortizationSchedule(BigDecimal monthlyPayment, List<Installment> installments) {
+        this.monthlyPayment = monthlyPayment;
+        this.installments = Collections.unmodifiableList(installments);
+    }
+
+    // Monthly rate as a decimal fraction, e.g. 12% a year -> 0.01
+    public static BigDecimal monthlyRate(BigDecimal annualRatePercent) {
+        return annualRatePercent.divide(BigDecimal.valueOf(100 * 12), 10, RoundingMode.HALF_UP);
+    }
+
+    // EMI formula P * r(1+r)^n / ((1+r)^n - 1), or P / n without interest
+    public static BigDecimal monthlyPayment(BigDecimal principal, BigDecimal annualRatePercent, int months) {
+        BigDecimal rate = monthlyRate(annualRatePercent);
+        if (rate.signum() == 0) {
+            return principal.divide(BigDecimal.valueOf(months), 2, RoundingMode.HALF_UP);
+        }
+        BigDecimal growth = BigDecimal.ONE.add(rate).pow(months, PRECISION);
+        return principal.multiply(rate.multiply(growth, PRECISION), PRECISION)
+                .divide(growth.subtract(BigDecimal.ONE), PRECISION)
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    public static AmortizationSchedule of(BigDecimal principal, BigDecimal annualRatePercent, int months) {
+        return of(principal, annualRatePercent, months, monthlyPayment(principal, annualRatePercent, months));
+    }
+
+    // Uses the given installment amount, e.g. the one already stored on the loan
+    public static AmortizationSchedule of(BigDecimal principal, BigDecimal annualRatePercent, int months,
+                                          BigDecimal monthlyPayment) {
+        BigDecimal rate = monthlyRate(annualRatePercent);
+        List<Installment> installments = new ArrayList<>(months);
+        BigDecimal balance = principal;
+
+        for (int number = 1; number <= months; number++) {
+            BigDecimal interest = balance.multiply(rate).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal principalPart = monthlyPayment.subtract(interest);
+            if (principalPart.signum() < 0) {
+                principalPart = BigDecimal.ZERO;
+            }
+            if (number == months || principalPart.compareTo(balance) > 0) {
+                principalPart = balance;
+            }
+            balance = balance.subtract(principalPart);
+            installments.add(new Installment(number, principalPart.add(interest), principalPart, interest, balance));
+        }
+        return new AmortizationSchedule(monthlyPayment, installments);
+    }
+
+    public BigDecimal getMonthlyPayment() {
+        return monthlyPayment;
+    }
+
+    public List<Installment> getInstallments() {
+        return installments;
+    }
+
+    // Installment by its 1-based payment number, or null if outside the term
+    public Installment getInstallment(int paymentNumber) {
+        if (paymentNumber < 1 || paymentNumber > installments.size()) {
+            return null;
+        }
+        return installments.get(paymentNumber - 1);
+    }
+
+    public static class Installment {
+        private final int paymentNumber;
+        private final BigDecimal amount;
+        private final BigDecimal principalComponent;
+        private final BigDecimal interestComponent;
+        private final BigDecimal remainingBalance;
+
+        public Installment(int paymentNumber, BigDecimal amount, BigDecimal principalComponent,
+                           BigDecimal interestComponent, BigDecimal remainingBalance) {
+            this.paymentNumber = paymentNumber;
+            this.amount = amount;
+            this.principalComponent = principalComponent;
+            this.interestComponent = interestComponent;
+            this.remainingBalance = remainingBalance;
+        }
+
+        public int getPaymentNumber() { return paymentNumber; }
+        public BigDecimal getAmount() { return amount; }
+        public BigDecimal getPrincipalComponent() { return principalComponent; }
+        public BigDecimal getInterestComponent() { return interestComponent; }
+        public BigDecimal getRemainingBalance() { return remainingBalance; }
+    }
+}
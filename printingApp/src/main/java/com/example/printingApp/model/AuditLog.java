@@ -6,7 +6,9 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "audit_logs")
+@Table(name = "audit_logs", indexes = {
+        @Index(name = "idx_audit_logs_entity_timeline", columnList = "entity_id, entity_type, timestamp")
+})
 @Data
 @Setter
 @Getter
@@ -0,0 +1,46 @@
+package com.example.printingApp.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Pre-aggregated print job totals per day, print type and payment status.
+ * Maintained incrementally by the print services; see DailyPrintStatService.
+ */
+@Entity
+@Table(name = "daily_print_stats", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_daily_print_stats_key", columnNames = {"stat_date", "print_type", "payment_status"})
+})
+@Data
+public class DailyPrintStat {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate statDate;
+
+    @Column(nullable = false)
+    private String printType;
+
+    @Column(nullable = false)
+    private String paymentStatus;
+
+    @Column(nullable = false)
+    private long jobCount;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalCost = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal amountPaid = BigDecimal.ZERO;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal outstanding = BigDecimal.ZERO;
+}
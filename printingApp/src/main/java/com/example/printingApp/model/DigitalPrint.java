@@ -7,10 +7,12 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
 @Table(name = "digital_prints")
 @Data
+@DynamicUpdate
 public class DigitalPrint extends PrintJob {
     @Enumerated(EnumType.STRING)
     private PrintMaterialType material;
@@ -7,10 +7,12 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
 @Table(name = "duplo_prints")
 @Data
+@DynamicUpdate
 public class DuploPrint extends PrintJob {
     private Integer quantity;
     private String paperSize;
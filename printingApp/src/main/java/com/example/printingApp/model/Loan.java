@@ -4,7 +4,6 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Period;
@@ -90,20 +89,8 @@ public class Loan {
 
     // Calculate monthly payment using loan formula
     private void calculateMonthlyPayment() {
-        if (principalAmount != null && interestRate != null && loanTermMonths != null) {
-            double principal = principalAmount.doubleValue();
-            double monthlyRate = interestRate.doubleValue() / 100 / 12; // Convert annual % to monthly decimal
-            int months = loanTermMonths;
-
-            if (monthlyRate == 0) {
-                // Simple division if no interest
-                monthlyPayment = principalAmount.divide(BigDecimal.valueOf(months), 2, RoundingMode.HALF_UP);
-            } else {
-                // EMI formula: P * [r(1+r)^n] / [(1+r)^n - 1]
-                double emi = principal * (monthlyRate * Math.pow(1 + monthlyRate, months)) /
-                        (Math.pow(1 + monthlyRate, months) - 1);
-                monthlyPayment = BigDecimal.valueOf(emi).setScale(2, RoundingMode.HALF_UP);
-            }
+        if (principalAmount != null && interestRate != null && loanTermMonths != null && loanTermMonths > 0) {
+            monthlyPayment = AmortizationSchedule.monthlyPayment(principalAmount, interestRate, loanTermMonths);
         }
     }
 
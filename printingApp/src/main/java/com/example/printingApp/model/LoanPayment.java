@@ -9,7 +9,9 @@ import java.time.LocalDateTime;
 import lombok.Data;
 
 @Entity
-@Table(name = "loan_payments")
+@Table(name = "loan_payments", indexes = {
+        @Index(name = "idx_loan_payments_status_due_date", columnList = "payment_status, due_date")
+})
 @Data
 public class LoanPayment {
     @Id
@@ -72,8 +74,10 @@ public class LoanPayment {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
-        // Only calculate components if we have sufficient data and avoid infinite calculations
-        safeCalculatePaymentComponents();
+        // Components are normally preset from the loan's cached schedule; compute only if missing
+        if (principalComponent == null || interestComponent == null) {
+            safeCalculatePaymentComponents();
+        }
     }
 
     @PreUpdate
@@ -139,39 +143,22 @@ public class LoanPayment {
         }
 
         try {
-            // Calculate remaining balance at the time of this payment
-            BigDecimal remainingBalance = loan.getPrincipalAmount();
-
             // Validate monthly payment exists
             if (loan.getMonthlyPayment() == null || loan.getMonthlyPayment().compareTo(BigDecimal.ZERO) <= 0) {
                 setDefaultComponents();
                 return;
             }
 
-            // Calculate balance for previous payments (but limit iterations to prevent overflow)
-            int maxIterations = Math.min(paymentNumber - 1, 360); // max 30 years
-
-            for (int i = 1; i <= maxIterations; i++) {
-                BigDecimal interestForMonth = remainingBalance.multiply(monthlyRate).setScale(2, RoundingMode.HALF_UP);
-                BigDecimal principalForMonth = loan.getMonthlyPayment().subtract(interestForMonth);
-
-                // Prevent negative remaining balance
-                if (principalForMonth.compareTo(remainingBalance) >= 0) {
-                    remainingBalance = BigDecimal.ZERO;
-                    break;
-                }
-
-                remainingBalance = remainingBalance.subtract(principalForMonth);
-
-                // Safety check for extremely small balances
-                if (remainingBalance.compareTo(new BigDecimal("0.01")) < 0) {
-                    remainingBalance = BigDecimal.ZERO;
-                    break;
-                }
+            AmortizationSchedule.Installment installment = AmortizationSchedule.of(loan.getPrincipalAmount(),
+                    loan.getInterestRate(), loan.getLoanTermMonths(), loan.getMonthlyPayment())
+                    .getInstallment(paymentNumber);
+            if (installment == null) {
+                setDefaultComponents();
+                return;
             }
 
             // Calculate components for this payment
-            interestComponent = remainingBalance.multiply(monthlyRate).setScale(2, RoundingMode.HALF_UP);
+            interestComponent = installment.getInterestComponent();
             principalComponent = amount.subtract(interestComponent);
 
             // Ensure components don't exceed the payment amount
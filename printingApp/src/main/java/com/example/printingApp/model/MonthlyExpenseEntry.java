@@ -8,7 +8,12 @@ import java.time.LocalDateTime;
 import lombok.Data;
 
 @Entity
-@Table(name = "monthly_expense_entries")
+@Table(name = "monthly_expense_entries", indexes = {
+        @Index(name = "idx_monthly_expense_entries_status_due_date", columnList = "payment_status, due_date")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_monthly_expense_entries_expense_period",
+                columnNames = {"recurring_expense_id", "`year`", "`month`"})
+})
 @Data
 public class MonthlyExpenseEntry {
     @Id
@@ -9,10 +9,12 @@ import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
 @Table(name = "offset_prints")
 @Data
+@DynamicUpdate
 public class OffsetPrint extends PrintJob {
     private String jobType;
     private Integer quantity;
@@ -2,6 +2,7 @@ package com.example.printingApp.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -9,6 +10,7 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "other_prints")
 @Data
+@DynamicUpdate
 public class OtherPrint extends PrintJob {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,22 +1,26 @@
 package com.example.printingApp.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Entity;
 import jakarta.persistence.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import lombok.Data;
 
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = @Index(name = "idx_payments_print_job_id", columnList = "print_job_id"))
 @Data
 public class Payment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Serialized as printJobId only, so a payment never pulls in the job and its expenses
     @ManyToOne
     @JoinColumn(name = "print_job_id")
+    @JsonIgnore
     private PrintJob printJob;
 
     private BigDecimal amount;
@@ -26,7 +30,21 @@ public class Payment {
     @Enumerated(EnumType.STRING)
     private PaymentType type;
 
+    // When the payment was received; defaults to the time it is recorded
+    private LocalDateTime paidAt;
+
     public enum PaymentType {
         FULL, PARTIAL, INSTALLMENT
     }
+
+    public Long getPrintJobId() {
+        return printJob != null ? printJob.getId() : null;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (paidAt == null) {
+            paidAt = LocalDateTime.now();
+        }
+    }
 }
@@ -5,10 +5,15 @@ import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
-@Table(name = "print_jobs")
+@Table(name = "print_jobs", indexes = {
+        @Index(name = "idx_print_jobs_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_print_jobs_customer_created_at_id", columnList = "customer_id, created_at, id")
+})
 @Data
+@DynamicUpdate
 @Inheritance(strategy = InheritanceType.JOINED)
 public abstract class PrintJob {
     @Id
@@ -48,6 +53,11 @@ public abstract class PrintJob {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // Optimistic lock; also bumped by the in-database payment increment
+    @Version
+    @Column(columnDefinition = "bigint default 0")
+    private Long version;
+
     public enum PrintType {
         DIGITAL, OFFSET, DUPLO, OTHER, SUBLIMATION
     }
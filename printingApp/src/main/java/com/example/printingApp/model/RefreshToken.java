@@ -17,9 +17,14 @@ public class RefreshToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    // SHA-256 hex digest of the token handed to the client; the token itself is never stored
+    @Column(nullable = false, unique = true, length = 64)
     private String token;
 
+    // The plain token, only present on the instance returned when it is issued
+    @Transient
+    private String plainToken;
+
     @ManyToOne
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -8,10 +8,12 @@ import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
 @Table(name = "sublimation_prints")
 @Data
+@DynamicUpdate
 public class SublimationPrint extends PrintJob {
 
     @Enumerated(EnumType.STRING)
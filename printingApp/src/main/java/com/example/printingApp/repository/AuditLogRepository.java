@@ -5,11 +5,16 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
@@ -49,4 +54,30 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
 
     // Get all audit logs with pagination
     Page<AuditLog> findAllByOrderByTimestampDesc(Pageable pageable);
-}
\ No newline at end of file
+
+    // Unified timeline for one id across several entity types (served by idx_audit_logs_entity_timeline)
+    List<AuditLog> findByEntityIdAndEntityTypeInOrderByTimestampDescIdDesc(Long entityId, Collection<String> entityTypes);
+
+    // Keyset pagination over the same timeline: first page, then everything strictly older than the cursor
+    @Query("SELECT a FROM AuditLog a WHERE a.entityId = :entityId AND a.entityType IN :entityTypes " +
+           "ORDER BY a.timestamp DESC, a.id DESC")
+    List<AuditLog> findTimeline(@Param("entityId") Long entityId,
+                                @Param("entityTypes") Collection<String> entityTypes,
+                                Pageable pageable);
+
+    @Query("SELECT a FROM AuditLog a WHERE a.entityId = :entityId AND a.entityType IN :entityTypes AND " +
+           "(a.timestamp < :beforeTimestamp OR (a.timestamp = :beforeTimestamp AND a.id < :beforeId)) " +
+           "ORDER BY a.timestamp DESC, a.id DESC")
+    List<AuditLog> findTimelineBefore(@Param("entityId") Long entityId,
+                                      @Param("entityTypes") Collection<String> entityTypes,
+                                      @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+                                      @Param("beforeId") Long beforeId,
+                                      Pageable pageable);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT a FROM AuditLog a WHERE a.timestamp >= :from AND a.timestamp < :to ORDER BY a.timestamp, a.id")
+    Stream<AuditLog> streamForExport(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -1,11 +1,43 @@
 package com.example.printingApp.repository;
 
+import com.example.printingApp.dto.CustomerListView;
 import com.example.printingApp.model.*;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
-    List<Customer> findByNameContainingIgnoreCase(String name);
+
+    // Job totals are grouped over print_jobs; Other prints keep their own amounts in other_prints,
+    // so those columns win when present (as in the daily print stats). Outstanding is total less paid,
+    // the same figure the customer ledger closes on.
+    @Query(value = "SELECT c.id AS id, c.customer_number AS customerNumber, c.name AS name, c.email AS email, " +
+            "c.phone AS phone, c.address AS address, c.created_at AS createdAt, " +
+            "COALESCE(t.job_count, 0) AS jobCount, COALESCE(t.total_billed, 0) AS totalBilled, " +
+            "COALESCE(t.outstanding_balance, 0) AS outstandingBalance " +
+            "FROM customers c LEFT JOIN (SELECT customer_id, COUNT(*) AS job_count, " +
+            "SUM(COALESCE(op.total_amount, pj.total_amount)) AS total_billed, " +
+            "SUM(COALESCE(op.total_amount, pj.total_amount, 0) - COALESCE(op.amount_paid, pj.amount_paid, 0)) " +
+            "AS outstanding_balance " +
+            "FROM print_jobs pj LEFT JOIN other_prints op ON op.id = pj.id " +
+            "WHERE pj.customer_id IS NOT NULL GROUP BY pj.customer_id) t ON t.customer_id = c.id " +
+            "ORDER BY c.name, c.id", nativeQuery = true)
+    List<CustomerListView> findAllWithTotals();
+
+    @Query(value = "SELECT c.id AS id, c.customer_number AS customerNumber, c.name AS name, c.email AS email, " +
+            "c.phone AS phone, c.address AS address, c.created_at AS createdAt, " +
+            "COALESCE(t.job_count, 0) AS jobCount, COALESCE(t.total_billed, 0) AS totalBilled, " +
+            "COALESCE(t.outstanding_balance, 0) AS outstandingBalance " +
+            "FROM customers c LEFT JOIN (SELECT customer_id, COUNT(*) AS job_count, " +
+            "SUM(COALESCE(op.total_amount, pj.total_amount)) AS total_billed, " +
+            "SUM(COALESCE(op.total_amount, pj.total_amount, 0) - COALESCE(op.amount_paid, pj.amount_paid, 0)) " +
+            "AS outstanding_balance " +
+            "FROM print_jobs pj LEFT JOIN other_prints op ON op.id = pj.id " +
+            "WHERE pj.customer_id IN (:ids) GROUP BY pj.customer_id) t ON t.customer_id = c.id " +
+            "WHERE c.id IN (:ids)", nativeQuery = true)
+    List<CustomerListView> findWithTotalsByIds(@Param("ids") Collection<Long> ids);
 }
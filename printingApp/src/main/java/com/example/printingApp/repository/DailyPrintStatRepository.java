@@ -0,0 +1,21 @@
+package com.example.printingApp.repository;
+
+import com.example.printingApp.model.DailyPrintStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyPrintStatRepository extends JpaRepository<DailyPrintStat, Long> {
+
+    // [printType, paymentStatus, jobCount, totalAmount, totalCost, amountPaid, outstanding]
+    @Query("SELECT s.printType, s.paymentStatus, SUM(s.jobCount), SUM(s.totalAmount), SUM(s.totalCost), " +
+           "SUM(s.amountPaid), SUM(s.outstanding) FROM DailyPrintStat s " +
+           "WHERE s.statDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY s.printType, s.paymentStatus ORDER BY s.printType, s.paymentStatus")
+    List<Object[]> sumByTypeAndStatus(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
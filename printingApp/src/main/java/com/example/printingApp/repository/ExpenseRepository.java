@@ -5,11 +5,15 @@ import com.example.printingApp.model.Expense.PaymentStatus;
 import com.example.printingApp.model.Expense.ExpenseType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ExpenseRepository extends JpaRepository<Expense, Long> {
@@ -38,4 +42,12 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
             @Param("paymentStatus") PaymentStatus paymentStatus,
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Expense e LEFT JOIN FETCH e.supplier " +
+            "WHERE e.expenseDate BETWEEN :startDate AND :endDate ORDER BY e.expenseDate, e.id")
+    Stream<Expense> streamForExport(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
 }
@@ -1,6 +1,8 @@
 package com.example.printingApp.repository;
 
+import com.example.printingApp.dto.LoanSummary;
 import com.example.printingApp.model.Loan;
+import com.example.printingApp.model.LoanPayment;
 import com.example.printingApp.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -21,4 +23,34 @@ public interface LoanRepository extends JpaRepository<Loan, Long> {
     // ONE simple custom query to test
     @Query("SELECT l FROM Loan l WHERE l.user.id = :userId")
     List<Loan> getUserLoans(@Param("userId") Long userId);
-}
\ No newline at end of file
+
+    // Summaries: one grouped query over loans + loan_payments instead of walking each loan's payments
+    @Query("SELECT new com.example.printingApp.dto.LoanSummary(l.id, l.loanName, l.principalAmount, " +
+           "l.interestRate, l.loanTermMonths, l.monthlyPayment, l.startDate, l.endDate, l.status, l.loanType, " +
+           "l.description, l.lender, l.createdAt, l.updatedAt, " +
+           "COALESCE(SUM(CASE WHEN p.paymentStatus = :paid THEN p.amount END), 0), " +
+           "COUNT(CASE WHEN p.paymentStatus = :paid THEN 1 END)) " +
+           "FROM Loan l LEFT JOIN l.payments p " +
+           "GROUP BY l.id ORDER BY l.createdAt DESC")
+    List<LoanSummary> findAllSummaries(@Param("paid") LoanPayment.PaymentStatus paid);
+
+    @Query("SELECT new com.example.printingApp.dto.LoanSummary(l.id, l.loanName, l.principalAmount, " +
+           "l.interestRate, l.loanTermMonths, l.monthlyPayment, l.startDate, l.endDate, l.status, l.loanType, " +
+           "l.description, l.lender, l.createdAt, l.updatedAt, " +
+           "COALESCE(SUM(CASE WHEN p.paymentStatus = :paid THEN p.amount END), 0), " +
+           "COUNT(CASE WHEN p.paymentStatus = :paid THEN 1 END)) " +
+           "FROM Loan l LEFT JOIN l.payments p " +
+           "WHERE l.user.id = :userId GROUP BY l.id ORDER BY l.createdAt DESC")
+    List<LoanSummary> findSummariesByUserId(@Param("userId") Long userId,
+                                            @Param("paid") LoanPayment.PaymentStatus paid);
+
+    @Query("SELECT new com.example.printingApp.dto.LoanSummary(l.id, l.loanName, l.principalAmount, " +
+           "l.interestRate, l.loanTermMonths, l.monthlyPayment, l.startDate, l.endDate, l.status, l.loanType, " +
+           "l.description, l.lender, l.createdAt, l.updatedAt, " +
+           "COALESCE(SUM(CASE WHEN p.paymentStatus = :paid THEN p.amount END), 0), " +
+           "COUNT(CASE WHEN p.paymentStatus = :paid THEN 1 END)) " +
+           "FROM Loan l LEFT JOIN l.payments p " +
+           "WHERE l.status = :status GROUP BY l.id ORDER BY l.createdAt DESC")
+    List<LoanSummary> findSummariesByStatus(@Param("status") Loan.LoanStatus status,
+                                            @Param("paid") LoanPayment.PaymentStatus paid);
+}
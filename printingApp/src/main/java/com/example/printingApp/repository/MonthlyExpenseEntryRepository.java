@@ -40,10 +40,26 @@ public interface MonthlyExpenseEntryRepository extends JpaRepository<MonthlyExpe
     @Query("SELECT COALESCE(SUM(mee.amount), 0) FROM MonthlyExpenseEntry mee WHERE mee.year = :year AND mee.month = :month AND mee.paymentStatus IN ('UNPAID', 'OVERDUE')")
     BigDecimal getTotalUnpaidExpensesForMonth(@Param("year") Integer year, @Param("month") Integer month);
 
+    // (paymentStatus, count, sum) for a month/year in one grouped query
+    @Query("SELECT mee.paymentStatus, COUNT(mee), COALESCE(SUM(mee.amount), 0) FROM MonthlyExpenseEntry mee " +
+           "WHERE mee.year = :year AND mee.month = :month GROUP BY mee.paymentStatus")
+    List<Object[]> sumByStatusForMonth(@Param("year") Integer year, @Param("month") Integer month);
+
+    // (year, month, paymentStatus, count, sum) for every month in the year range, in month order
+    @Query("SELECT mee.year, mee.month, mee.paymentStatus, COUNT(mee), COALESCE(SUM(mee.amount), 0) " +
+           "FROM MonthlyExpenseEntry mee WHERE mee.year BETWEEN :startYear AND :endYear " +
+           "GROUP BY mee.year, mee.month, mee.paymentStatus ORDER BY mee.year, mee.month")
+    List<Object[]> sumByMonthAndStatusForYears(@Param("startYear") Integer startYear, @Param("endYear") Integer endYear);
+
     // Find entries by year range
     List<MonthlyExpenseEntry> findByYearBetweenOrderByYearDescMonthDesc(Integer startYear, Integer endYear);
 
     // Find overdue entries
     @Query("SELECT mee FROM MonthlyExpenseEntry mee WHERE mee.paymentStatus = 'OVERDUE' ORDER BY mee.dueDate ASC")
     List<MonthlyExpenseEntry> findOverdueEntries();
-}
\ No newline at end of file
+
+    // (recurringExpenseId, year, month) of every entry in the year range, for the bulk generator
+    @Query("SELECT mee.recurringExpense.id, mee.year, mee.month FROM MonthlyExpenseEntry mee " +
+           "WHERE mee.year BETWEEN :startYear AND :endYear")
+    List<Object[]> findEntryKeysForYears(@Param("startYear") Integer startYear, @Param("endYear") Integer endYear);
+}
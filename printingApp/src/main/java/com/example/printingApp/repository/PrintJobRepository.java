@@ -1,12 +1,121 @@
 package com.example.printingApp.repository;
 
+import com.example.printingApp.dto.PaymentTotalsView;
+import com.example.printingApp.dto.PrintJobCustomerView;
+import com.example.printingApp.dto.PrintJobListView;
 import com.example.printingApp.model.*;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface PrintJobRepository extends JpaRepository<PrintJob, Long> {
     List<PrintJob> findByCustomerId(Long customerId);
     List<PrintJob> findByPaymentStatus(PrintJob.PaymentStatus status);
+
+    // Reads only print_jobs + customers, without joining the subclass tables
+    @Query(value = "SELECT pj.id AS id, c.name AS customerName FROM print_jobs pj " +
+            "LEFT JOIN customers c ON c.id = pj.customer_id WHERE pj.id IN (:ids)", nativeQuery = true)
+    List<PrintJobCustomerView> findCustomerNamesByIds(@Param("ids") Collection<Long> ids);
+
+    // Other prints keep their own amount_paid, balance and total_amount in other_prints; the payment
+    // increment updates that row first (a no-op for other job types) and reads its new values back
+    String OTHER_PRINT_PAYMENT_CTE = "WITH op AS (UPDATE other_prints SET " +
+            "amount_paid = COALESCE(amount_paid, 0) + :amount, " +
+            "balance = COALESCE(total_amount, 0) - (COALESCE(amount_paid, 0) + :amount), " +
+            "updated_at = CURRENT_TIMESTAMP " +
+            "WHERE id = :id RETURNING amount_paid, total_amount) ";
+    String NEW_AMOUNT_PAID = "COALESCE((SELECT amount_paid FROM op), COALESCE(amount_paid, 0) + :amount)";
+    String TOTAL_AMOUNT = "COALESCE((SELECT total_amount FROM op), total_amount, 0)";
+
+    // Atomic payment increment: amount, balance, status and version are all derived from the row's
+    // current values in one statement, so concurrent payments cannot overwrite each other
+    @Modifying(flushAutomatically = true)
+    @Query(value = OTHER_PRINT_PAYMENT_CTE +
+            "UPDATE print_jobs SET " +
+            "amount_paid = " + NEW_AMOUNT_PAID + ", " +
+            "balance = " + TOTAL_AMOUNT + " - " + NEW_AMOUNT_PAID + ", " +
+            "payment_status = CASE " +
+            "WHEN " + NEW_AMOUNT_PAID + " = 0 THEN 'UNPAID' " +
+            "WHEN " + NEW_AMOUNT_PAID + " < " + TOTAL_AMOUNT + " THEN 'PARTIALLY_PAID' " +
+            "ELSE 'PAID' END, " +
+            "version = COALESCE(version, 0) + 1, " +
+            "updated_at = CURRENT_TIMESTAMP " +
+            "WHERE id = :id", nativeQuery = true)
+    int addPayment(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    @Query(value = "SELECT pj.id AS id, pj.print_type AS printType, " +
+            "COALESCE(op.amount_paid, pj.amount_paid) AS amountPaid, COALESCE(op.balance, pj.balance) AS balance, " +
+            "pj.payment_status AS paymentStatus, pj.version AS version " +
+            "FROM print_jobs pj LEFT JOIN other_prints op ON op.id = pj.id WHERE pj.id IN (:ids)", nativeQuery = true)
+    List<PaymentTotalsView> findPaymentTotalsByIds(@Param("ids") Collection<Long> ids);
+
+    // Keyset listing over (created_at, id), newest first; backed by idx_print_jobs_created_at_id.
+    // Other prints' amounts come from other_prints through a primary-key join per returned row.
+    @Query(value = "SELECT pj.id AS id, pj.job_number AS jobNumber, pj.job_name AS jobName, " +
+            "pj.print_type AS printType, c.id AS customerId, c.name AS customerName, " +
+            "COALESCE(op.total_amount, pj.total_amount) AS totalAmount, " +
+            "COALESCE(op.amount_paid, pj.amount_paid) AS amountPaid, COALESCE(op.balance, pj.balance) AS balance, " +
+            "pj.payment_status AS paymentStatus, pj.created_at AS createdAt " +
+            "FROM print_jobs pj LEFT JOIN customers c ON c.id = pj.customer_id LEFT JOIN other_prints op ON op.id = pj.id " +
+            "ORDER BY pj.created_at DESC, pj.id DESC LIMIT :limit", nativeQuery = true)
+    List<PrintJobListView> findPageFirst(@Param("limit") int limit);
+
+    @Query(value = "SELECT pj.id AS id, pj.job_number AS jobNumber, pj.job_name AS jobName, " +
+            "pj.print_type AS printType, c.id AS customerId, c.name AS customerName, " +
+            "COALESCE(op.total_amount, pj.total_amount) AS totalAmount, " +
+            "COALESCE(op.amount_paid, pj.amount_paid) AS amountPaid, COALESCE(op.balance, pj.balance) AS balance, " +
+            "pj.payment_status AS paymentStatus, pj.created_at AS createdAt " +
+            "FROM print_jobs pj LEFT JOIN customers c ON c.id = pj.customer_id LEFT JOIN other_prints op ON op.id = pj.id " +
+            "WHERE (pj.created_at, pj.id) < (:beforeCreatedAt, :beforeId) " +
+            "ORDER BY pj.created_at DESC, pj.id DESC LIMIT :limit", nativeQuery = true)
+    List<PrintJobListView> findPageBefore(@Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                          @Param("beforeId") Long beforeId,
+                                          @Param("limit") int limit);
+
+    // One customer's history, newest first; backed by idx_print_jobs_customer_created_at_id
+    @Query(value = "SELECT pj.id AS id, pj.job_number AS jobNumber, pj.job_name AS jobName, " +
+            "pj.print_type AS printType, c.id AS customerId, c.name AS customerName, " +
+            "COALESCE(op.total_amount, pj.total_amount) AS totalAmount, " +
+            "COALESCE(op.amount_paid, pj.amount_paid) AS amountPaid, COALESCE(op.balance, pj.balance) AS balance, " +
+            "pj.payment_status AS paymentStatus, pj.created_at AS createdAt " +
+            "FROM print_jobs pj JOIN customers c ON c.id = pj.customer_id LEFT JOIN other_prints op ON op.id = pj.id " +
+            "WHERE pj.customer_id = :customerId " +
+            "ORDER BY pj.created_at DESC, pj.id DESC LIMIT :limit", nativeQuery = true)
+    List<PrintJobListView> findCustomerPageFirst(@Param("customerId") Long customerId, @Param("limit") int limit);
+
+    @Query(value = "SELECT pj.id AS id, pj.job_number AS jobNumber, pj.job_name AS jobName, " +
+            "pj.print_type AS printType, c.id AS customerId, c.name AS customerName, " +
+            "COALESCE(op.total_amount, pj.total_amount) AS totalAmount, " +
+            "COALESCE(op.amount_paid, pj.amount_paid) AS amountPaid, COALESCE(op.balance, pj.balance) AS balance, " +
+            "pj.payment_status AS paymentStatus, pj.created_at AS createdAt " +
+            "FROM print_jobs pj JOIN customers c ON c.id = pj.customer_id LEFT JOIN other_prints op ON op.id = pj.id " +
+            "WHERE pj.customer_id = :customerId AND (pj.created_at, pj.id) < (:beforeCreatedAt, :beforeId) " +
+            "ORDER BY pj.created_at DESC, pj.id DESC LIMIT :limit", nativeQuery = true)
+    List<PrintJobListView> findCustomerPageBefore(@Param("customerId") Long customerId,
+                                                  @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                                                  @Param("beforeId") Long beforeId,
+                                                  @Param("limit") int limit);
+
+    // Export cursor: rows are fetched from the server in chunks instead of materialised as a list
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(value = "SELECT pj.id AS id, pj.job_number AS jobNumber, pj.job_name AS jobName, " +
+            "pj.print_type AS printType, c.id AS customerId, c.name AS customerName, " +
+            "COALESCE(op.total_amount, pj.total_amount) AS totalAmount, " +
+            "COALESCE(op.amount_paid, pj.amount_paid) AS amountPaid, COALESCE(op.balance, pj.balance) AS balance, " +
+            "pj.payment_status AS paymentStatus, pj.created_at AS createdAt " +
+            "FROM print_jobs pj LEFT JOIN customers c ON c.id = pj.customer_id LEFT JOIN other_prints op ON op.id = pj.id " +
+            "WHERE pj.created_at >= :from AND pj.created_at < :to " +
+            "ORDER BY pj.created_at, pj.id", nativeQuery = true)
+    Stream<PrintJobListView> streamForExport(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
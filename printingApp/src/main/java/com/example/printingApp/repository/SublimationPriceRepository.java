@@ -3,7 +3,9 @@ package com.example.printingApp.repository;
 import com.example.printingApp.model.SublimationPrice;
 import com.example.printingApp.model.SublimationType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -24,4 +26,17 @@ public interface SublimationPriceRepository extends JpaRepository<SublimationPri
     @Query("SELECT sp FROM SublimationPrice sp WHERE sp.isActive = true AND sp.id IN " +
             "(SELECT MAX(sp2.id) FROM SublimationPrice sp2 WHERE sp2.sublimationType = sp.sublimationType AND sp2.isActive = true GROUP BY sp2.sublimationType)")
     List<SublimationPrice> findLatestActivePrices();
-}
\ No newline at end of file
+
+    // Deactivates the type's active price in one statement, before a new one is switched on
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE SublimationPrice sp SET sp.isActive = false, sp.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE sp.sublimationType = :sublimationType AND sp.isActive = true")
+    int deactivateActivePrices(@Param("sublimationType") SublimationType sublimationType);
+
+    // Same, leaving the given price alone
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE SublimationPrice sp SET sp.isActive = false, sp.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE sp.sublimationType = :sublimationType AND sp.isActive = true AND sp.id <> :keepId")
+    int deactivateOtherActivePrices(@Param("sublimationType") SublimationType sublimationType,
+                                    @Param("keepId") Long keepId);
+}
@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +17,9 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // Find user by username
     Optional<User> findByUsername(String username);
 
+    // Find users by a batch of usernames
+    List<User> findByUsernameIn(Collection<String> usernames);
+
     // Find user by email
     Optional<User> findByEmail(String email);
 
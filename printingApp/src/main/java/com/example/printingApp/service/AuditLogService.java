@@ -1,50 +1,57 @@
 package com.example.printingApp.service;
 
+import com.example.printingApp.dto.KeysetPage;
+import com.example.printingApp.dto.PrintJobCustomerView;
 import com.example.printingApp.model.AuditLog;
-import com.example.printingApp.model.PrintJob;
-import com.example.printingApp.model.User;
 import com.example.printingApp.repository.*;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class AuditLogService {
 
+    // Bumped on every save, so they would show up in every diff
+    private static final Set<String> DIFF_IGNORED_FIELDS = Set.of("updatedAt");
+
+    // Entity type names under which print job changes are audited
+    private static final List<String> PRINT_JOB_ENTITY_TYPES = List.of(
+            "PrintJob", "DigitalPrint", "OffsetPrint", "DuploPrint", "SublimationPrint", "OtherPrint");
+
     @Autowired
     private AuditLogRepository auditLogRepository;
 
     @Autowired
-    private ObjectMapper objectMapper;
-    
-    @Autowired
-    private UserService userService;
-    
-    @Autowired
-    private DigitalPrintRepository digitalPrintRepository;
-    
-    @Autowired
-    private SublimationPrintRepository sublimationPrintRepository;
-    
+    private AuditLogWriter auditLogWriter;
+
     @Autowired
-    private DuploPrintRepository duploPrintRepository;
+    private ObjectMapper objectMapper;
     
     @Autowired
-    private OffsetPrintRepository offsetPrintRepository;
+    private UserRepository userRepository;
     
     @Autowired
-    private OtherPrintRepository otherPrintRepository;
+    private PrintJobRepository printJobRepository;
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    // Builds the audit row on the caller's thread (so the JSON reflects the entity as it is now)
+    // and hands it to the background writer; no extra connection is taken from the pool here
     public void logAction(String entityType, Long entityId, AuditLog.AuditAction action, 
                          Object oldEntity, Object newEntity, String userId, 
                          HttpServletRequest request) {
@@ -61,24 +68,30 @@ public class AuditLogService {
                 auditLog.setUserAgent(request.getHeader("User-Agent"));
             }
 
-            // Convert entities to JSON strings
-            if (oldEntity != null) {
-                auditLog.setOldValues(objectMapper.writeValueAsString(oldEntity));
-            }
-            if (newEntity != null) {
-                auditLog.setNewValues(objectMapper.writeValueAsString(newEntity));
-            }
-
-            // Generate changes summary
-            auditLog.setChanges(generateChangesSummary(action, oldEntity, newEntity));
+            if (action == AuditLog.AuditAction.UPDATE && oldEntity != null && newEntity != null) {
+                // Updates store only the fields that changed, old and new side by side
+                JsonNode before = objectMapper.valueToTree(oldEntity);
+                JsonNode after = objectMapper.valueToTree(newEntity);
+                ObjectNode oldValues = objectMapper.createObjectNode();
+                ObjectNode newValues = objectMapper.createObjectNode();
+                List<String> changed = diff(before, after, oldValues, newValues);
+                auditLog.setOldValues(objectMapper.writeValueAsString(oldValues));
+                auditLog.setNewValues(objectMapper.writeValueAsString(newValues));
+                auditLog.setChanges(changed.isEmpty() ? "No field changes" : "Updated fields: " + String.join(", ", changed));
+            } else {
+                // Convert entities to JSON strings
+                if (oldEntity != null) {
+                    auditLog.setOldValues(objectMapper.writeValueAsString(oldEntity));
+                }
+                if (newEntity != null) {
+                    auditLog.setNewValues(objectMapper.writeValueAsString(newEntity));
+                }
 
-            // Populate print job information if entity is a print job
-            Object entityToCheck = newEntity != null ? newEntity : oldEntity;
-            if (entityToCheck != null) {
-                populatePrintJobInfo(auditLog, entityToCheck);
+                // Generate changes summary
+                auditLog.setChanges(generateChangesSummary(action, oldEntity, newEntity));
             }
 
-            auditLogRepository.save(auditLog);
+            auditLogWriter.enqueue(auditLog);
         } catch (JsonProcessingException e) {
             // Log the error but don't fail the main operation
             System.err.println("Failed to serialize entity for audit log: " + e.getMessage());
@@ -88,13 +101,24 @@ public class AuditLogService {
         }
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    // Detached JSON copy of an entity, for an "old" value whose managed instance is about to be merged into
+    public Object snapshot(Object entity) {
+        if (entity == null) {
+            return null;
+        }
+        try {
+            return objectMapper.valueToTree(entity);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Failed to snapshot entity for audit log: " + e.getMessage());
+            return entity;
+        }
+    }
+
     public void logAction(String entityType, Long entityId, AuditLog.AuditAction action, 
                          Object oldEntity, Object newEntity, String userId) {
         logAction(entityType, entityId, action, oldEntity, newEntity, userId, null);
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logAction(String entityType, Long entityId, AuditLog.AuditAction action, 
                          Object entity, String userId) {
         switch (action) {
@@ -110,6 +134,39 @@ public class AuditLogService {
         }
     }
 
+    // Top-level fields whose values differ; numbers are compared by value so 10.0 equals 10.00
+    private List<String> diff(JsonNode before, JsonNode after, ObjectNode oldValues, ObjectNode newValues) {
+        Set<String> fields = new LinkedHashSet<>();
+        before.fieldNames().forEachRemaining(fields::add);
+        after.fieldNames().forEachRemaining(fields::add);
+
+        List<String> changed = new ArrayList<>();
+        for (String field : fields) {
+            if (DIFF_IGNORED_FIELDS.contains(field)) {
+                continue;
+            }
+            JsonNode oldValue = before.path(field);
+            JsonNode newValue = after.path(field);
+            if (sameValue(oldValue, newValue)) {
+                continue;
+            }
+            changed.add(field);
+            oldValues.set(field, oldValue.isMissingNode() ? NullNode.getInstance() : oldValue);
+            newValues.set(field, newValue.isMissingNode() ? NullNode.getInstance() : newValue);
+        }
+        return changed;
+    }
+
+    private boolean sameValue(JsonNode a, JsonNode b) {
+        if (a.isNumber() && b.isNumber()) {
+            return a.decimalValue().compareTo(b.decimalValue()) == 0;
+        }
+        if ((a.isNull() || a.isMissingNode()) && (b.isNull() || b.isMissingNode())) {
+            return true;
+        }
+        return a.equals(b);
+    }
+
     private String generateChangesSummary(AuditLog.AuditAction action, Object oldEntity, Object newEntity) {
         switch (action) {
             case CREATE:
@@ -135,66 +192,83 @@ public class AuditLogService {
         }
     }
 
-    private void populateUserName(AuditLog auditLog) {
-        if (auditLog.getUserId() != null) {
-            try {
-                // Check if userId is numeric (user ID) or text (username)
-                if (auditLog.getUserId().matches("\\d+")) {
-                    // userId is numeric, treat as user ID
-                    Long userId = Long.parseLong(auditLog.getUserId());
-                    userService.getUserById(userId).ifPresent(user -> 
-                        auditLog.setUserName(user.getFullName())
-                    );
+    // Enriches a whole page with at most three queries (users by id, users by username,
+    // print job customers) instead of two lookups per row
+    private void populateAllAuditLogInfo(List<AuditLog> auditLogs) {
+        if (auditLogs.isEmpty()) {
+            return;
+        }
+
+        Set<Long> userIds = new HashSet<>();
+        Set<String> usernames = new HashSet<>();
+        Set<Long> printJobIds = new HashSet<>();
+
+        for (AuditLog auditLog : auditLogs) {
+            String userId = auditLog.getUserId();
+            if (userId != null) {
+                // userId is either a numeric user ID or a username; ids that don't fit a Long are
+                // looked up as usernames so one odd legacy row can't fail the whole page
+                Long numericId = parseUserId(userId);
+                if (numericId != null) {
+                    userIds.add(numericId);
                 } else {
-                    // userId is text, treat as username
-                    userService.getUserByUsername(auditLog.getUserId()).ifPresent(user -> 
-                        auditLog.setUserName(user.getFullName())
-                    );
+                    usernames.add(userId);
                 }
-            } catch (Exception e) {
-                // If lookup fails, keep userName null
+            }
+            if (isPrintJobEntity(auditLog.getEntityType()) && auditLog.getEntityId() != null) {
+                printJobIds.add(auditLog.getEntityId());
             }
         }
-    }
 
-    private void populateUserNames(List<AuditLog> auditLogs) {
-        auditLogs.forEach(this::populateUserName);
-    }
-
-    private void populateUserNames(Page<AuditLog> auditLogs) {
-        auditLogs.getContent().forEach(this::populateUserName);
-    }
+        Map<String, String> fullNames = new HashMap<>();
+        try {
+            if (!userIds.isEmpty()) {
+                userRepository.findAllById(userIds)
+                        .forEach(user -> fullNames.put(String.valueOf(user.getId()), user.getFullName()));
+            }
+            if (!usernames.isEmpty()) {
+                userRepository.findByUsernameIn(usernames)
+                        .forEach(user -> fullNames.put(user.getUsername(), user.getFullName()));
+            }
+        } catch (Exception e) {
+            // If lookup fails, keep userName null
+        }
 
-    private void populatePrintJobInfo(AuditLog auditLog, Object entity) {
-        if (entity instanceof PrintJob) {
-            PrintJob printJob = (PrintJob) entity;
-            auditLog.setPrintJobId(printJob.getId());
-            if (printJob.getCustomer() != null) {
-                auditLog.setCustomerName(printJob.getCustomer().getName());
-            } else if (printJob.getCustomerName() != null) {
-                auditLog.setCustomerName(printJob.getCustomerName());
+        Map<Long, PrintJobCustomerView> printJobs = new HashMap<>();
+        try {
+            if (!printJobIds.isEmpty()) {
+                printJobRepository.findCustomerNamesByIds(printJobIds)
+                        .forEach(view -> printJobs.put(view.getId(), view));
             }
+        } catch (Exception e) {
+            // If lookup fails, keep fields null
         }
-    }
 
-    private void populatePrintJobInfoFromAuditLog(AuditLog auditLog) {
-        if (isPrintJobEntity(auditLog.getEntityType())) {
-            try {
-                PrintJob printJob = fetchPrintJobByTypeAndId(auditLog.getEntityType(), auditLog.getEntityId());
+        for (AuditLog auditLog : auditLogs) {
+            if (auditLog.getUserId() != null) {
+                auditLog.setUserName(fullNames.get(auditLog.getUserId()));
+            }
+            if (isPrintJobEntity(auditLog.getEntityType())) {
+                PrintJobCustomerView printJob = printJobs.get(auditLog.getEntityId());
                 if (printJob != null) {
                     auditLog.setPrintJobId(printJob.getId());
-                    if (printJob.getCustomer() != null) {
-                        auditLog.setCustomerName(printJob.getCustomer().getName());
-                    } else if (printJob.getCustomerName() != null) {
-                        auditLog.setCustomerName(printJob.getCustomerName());
-                    }
+                    auditLog.setCustomerName(printJob.getCustomerName());
                 }
-            } catch (Exception e) {
-                // If lookup fails, keep fields null
             }
         }
     }
 
+    private Long parseUserId(String userId) {
+        if (!userId.matches("\\d+")) {
+            return null;
+        }
+        try {
+            return Long.parseLong(userId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
     private boolean isPrintJobEntity(String entityType) {
         return "DigitalPrint".equals(entityType) || 
                "SublimationPrint".equals(entityType) || 
@@ -203,39 +277,8 @@ public class AuditLogService {
                "OtherPrint".equals(entityType);
     }
 
-    private PrintJob fetchPrintJobByTypeAndId(String entityType, Long entityId) {
-        try {
-            switch (entityType) {
-                case "DigitalPrint":
-                    return digitalPrintRepository.findById(entityId).orElse(null);
-                case "SublimationPrint":
-                    return sublimationPrintRepository.findById(entityId).orElse(null);
-                case "DuploPrint":
-                    return duploPrintRepository.findById(entityId).orElse(null);
-                case "OffsetPrint":
-                    return offsetPrintRepository.findById(entityId).orElse(null);
-                case "OtherPrint":
-                    return otherPrintRepository.findById(entityId).orElse(null);
-                default:
-                    return null;
-            }
-        } catch (Exception e) {
-            return null;
-        }
-    }
-
-    private void populateAllAuditLogInfo(List<AuditLog> auditLogs) {
-        auditLogs.forEach(auditLog -> {
-            populateUserName(auditLog);
-            populatePrintJobInfoFromAuditLog(auditLog);
-        });
-    }
-
     private void populateAllAuditLogInfo(Page<AuditLog> auditLogs) {
-        auditLogs.getContent().forEach(auditLog -> {
-            populateUserName(auditLog);
-            populatePrintJobInfoFromAuditLog(auditLog);
-        });
+        populateAllAuditLogInfo(auditLogs.getContent());
     }
 
     // Query methods
@@ -245,6 +288,35 @@ public class AuditLogService {
         return auditLogs;
     }
 
+    // All audit rows for a print job in one indexed scan, newest first
+    public List<AuditLog> getPrintJobAuditLogs(Long printJobId) {
+        List<AuditLog> auditLogs = auditLogRepository
+                .findByEntityIdAndEntityTypeInOrderByTimestampDescIdDesc(printJobId, PRINT_JOB_ENTITY_TYPES);
+        populateAllAuditLogInfo(auditLogs);
+        return auditLogs;
+    }
+
+    public KeysetPage<AuditLog> getPrintJobAuditTimeline(Long printJobId, LocalDateTime beforeTimestamp,
+                                                         Long beforeId, int size) {
+        // Fetch one extra row to know whether another page exists
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<AuditLog> auditLogs = (beforeTimestamp != null && beforeId != null)
+                ? auditLogRepository.findTimelineBefore(printJobId, PRINT_JOB_ENTITY_TYPES, beforeTimestamp, beforeId, limit)
+                : auditLogRepository.findTimeline(printJobId, PRINT_JOB_ENTITY_TYPES, limit);
+
+        boolean hasMore = auditLogs.size() > size;
+        if (hasMore) {
+            auditLogs = auditLogs.subList(0, size);
+        }
+        populateAllAuditLogInfo(auditLogs);
+
+        AuditLog last = auditLogs.isEmpty() ? null : auditLogs.get(auditLogs.size() - 1);
+        return new KeysetPage<>(auditLogs,
+                last != null ? last.getTimestamp() : null,
+                last != null ? last.getId() : null,
+                hasMore);
+    }
+
     public List<AuditLog> getAuditLogsByEntityType(String entityType) {
         List<AuditLog> auditLogs = auditLogRepository.findByEntityTypeOrderByTimestampDesc(entityType);
         populateAllAuditLogInfo(auditLogs);
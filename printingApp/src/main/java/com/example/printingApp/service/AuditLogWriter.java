@@ -0,0 +1,165 @@
+package com.example.printingApp.service;
+
+import com.example.printingApp.model.AuditLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Background writer for audit rows. Request threads only enqueue a fully built AuditLog;
+ * a single daemon thread drains the queue and batch-inserts with JDBC.
+ */
+@Component
+public class AuditLogWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_logs (entity_type, entity_id, action, timestamp, user_id, " +
+            "old_values, new_values, changes, ip_address, user_agent) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${audit.writer.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${audit.writer.batch-size:200}")
+    private int batchSize;
+
+    @Value("${audit.writer.offer-timeout-ms:100}")
+    private long offerTimeoutMs;
+
+    private BlockingQueue<AuditLog> queue;
+    private Thread worker;
+    private volatile boolean running;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder writtenInline = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        worker = new Thread(this::drainLoop, "audit-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    // Backpressure: wait briefly for space, then write on the caller's thread rather than drop the row
+    public void enqueue(AuditLog auditLog) {
+        try {
+            if (running && queue.offer(auditLog, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                enqueued.increment();
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<AuditLog> single = new ArrayList<>(1);
+        single.add(auditLog);
+        writeBatch(single);
+        writtenInline.increment();
+    }
+
+    private void drainLoop() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditLog first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                // Interrupted from outside; stop taking new rows, loop exits once the queue is empty
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<AuditLog> batch) {
+        try {
+            insert(batch);
+            batches.increment();
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                // Audit failures must never break the main operation
+                failed.increment();
+                System.err.println("Failed to write audit log: " + e.getMessage());
+                return;
+            }
+            // One bad row fails the whole batch; retry row by row so only that row is lost
+            for (AuditLog log : batch) {
+                try {
+                    insert(List.of(log));
+                } catch (Exception rowFailure) {
+                    failed.increment();
+                    System.err.println("Failed to write audit log for " + log.getEntityType() + " "
+                            + log.getEntityId() + ": " + rowFailure.getMessage());
+                }
+            }
+        }
+    }
+
+    private void insert(List<AuditLog> rows) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, log) -> {
+            ps.setString(1, log.getEntityType());
+            ps.setLong(2, log.getEntityId());
+            ps.setString(3, log.getAction().name());
+            ps.setTimestamp(4, Timestamp.valueOf(log.getTimestamp()));
+            ps.setString(5, log.getUserId());
+            ps.setString(6, log.getOldValues());
+            ps.setString(7, log.getNewValues());
+            ps.setString(8, log.getChanges());
+            ps.setString(9, log.getIpAddress());
+            ps.setString(10, log.getUserAgent());
+        });
+        written.add(rows.size());
+    }
+
+    // Stop the worker without interrupting a batch in flight: it drains the queue and exits on its
+    // own, then anything enqueued meanwhile is written here before the datasource goes away
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        worker.join(10000);
+
+        List<AuditLog> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int i = 0; i < remaining.size(); i += batchSize) {
+            writeBatch(remaining.subList(i, Math.min(i + batchSize, remaining.size())));
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("queueDepth", queue.size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("enqueued", enqueued.sum());
+        stats.put("written", written.sum());
+        stats.put("batches", batches.sum());
+        stats.put("writtenInline", writtenInline.sum());
+        stats.put("failed", failed.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.printingApp.service;
+
+import com.example.printingApp.dto.CustomerLedgerPage;
+import com.example.printingApp.dto.LedgerEntry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Customer statement: job charges, payments and paid-amount adjustments merged in time order, with
+ * the running balance computed in Postgres by a window SUM. Pages are cut with a keyset on
+ * (time, entry kind, id) and the cursor carries the balance reached so far, so a later page only
+ * sums the entries after the cursor.
+ */
+@Service
+public class CustomerLedgerService {
+
+    // Other prints keep their amounts and timestamps in other_prints, so those columns win when
+    // present. Payments recorded before paid_at existed are placed at their job's creation time.
+    // Amount paid set on the job beyond its payment rows becomes one adjustment at its last update.
+    private static final String ENTRIES_CTE =
+            "WITH jobs AS (" +
+            "  SELECT pj.id, pj.job_number, pj.job_name, " +
+            "         COALESCE(op.created_at, pj.created_at, TIMESTAMP '1970-01-01') AS created_at, " +
+            "         COALESCE(op.updated_at, pj.updated_at, op.created_at, pj.created_at, TIMESTAMP '1970-01-01') AS updated_at, " +
+            "         COALESCE(op.total_amount, pj.total_amount, 0) AS total_amount, " +
+            "         COALESCE(op.amount_paid, pj.amount_paid, 0) AS amount_paid " +
+            "  FROM print_jobs pj LEFT JOIN other_prints op ON op.id = pj.id WHERE pj.customer_id = ?" +
+            "), recorded AS (" +
+            "  SELECT p.print_job_id, SUM(COALESCE(p.amount, 0)) AS amount " +
+            "  FROM payments p JOIN jobs j ON j.id = p.print_job_id GROUP BY p.print_job_id" +
+            "), entries AS (" +
+            "  SELECT j.created_at AS entry_at, 0 AS entry_order, j.id AS entry_id, j.id AS print_job_id, " +
+            "         j.job_number, j.job_name AS description, j.total_amount AS amount " +
+            "  FROM jobs j " +
+            "  UNION ALL " +
+            "  SELECT COALESCE(p.paid_at, j.created_at), 1, p.id, j.id, " +
+            "         j.job_number, CONCAT_WS(' ', p.payment_method, p.reference), -COALESCE(p.amount, 0) " +
+            "  FROM payments p JOIN jobs j ON j.id = p.print_job_id " +
+            "  UNION ALL " +
+            "  SELECT j.updated_at, 2, j.id, j.id, j.job_number, 'Amount paid set on the job', " +
+            "         COALESCE(r.amount, 0) - j.amount_paid " +
+            "  FROM jobs j LEFT JOIN recorded r ON r.print_job_id = j.id WHERE j.amount_paid <> COALESCE(r.amount, 0)" +
+            ") ";
+
+    private static final String PAGE_SQL = ENTRIES_CTE +
+            "SELECT e.*, ? + SUM(amount) OVER (ORDER BY entry_at, entry_order, entry_id ROWS UNBOUNDED PRECEDING) " +
+            "AS running_balance " +
+            "FROM entries e WHERE (entry_at, entry_order, entry_id) > (?, ?, ?) " +
+            "ORDER BY entry_at, entry_order, entry_id LIMIT ?";
+
+    // Only for a cursor that arrives without its balance
+    private static final String OPENING_BALANCE_SQL = ENTRIES_CTE +
+            "SELECT COALESCE(SUM(amount), 0) FROM entries WHERE (entry_at, entry_order, entry_id) <= (?, ?, ?)";
+
+    // Equals the ledger's final running balance: every job's total less everything paid on it
+    private static final String CLOSING_BALANCE_SQL =
+            "SELECT COALESCE(SUM(COALESCE(op.total_amount, pj.total_amount, 0) - COALESCE(op.amount_paid, pj.amount_paid, 0)), 0) " +
+            "FROM print_jobs pj LEFT JOIN other_prints op ON op.id = pj.id WHERE pj.customer_id = ?";
+
+    private static final RowMapper<LedgerEntry> ROW_MAPPER = (rs, rowNum) -> {
+        LedgerEntry entry = new LedgerEntry();
+        BigDecimal amount = rs.getBigDecimal("amount");
+        entry.setEntryType(LedgerEntry.EntryType.values()[rs.getInt("entry_order")]);
+        entry.setEntryId(rs.getLong("entry_id"));
+        Timestamp entryAt = rs.getTimestamp("entry_at");
+        entry.setEntryAt(entryAt != null ? entryAt.toLocalDateTime() : null);
+        entry.setPrintJobId(rs.getLong("print_job_id"));
+        entry.setJobNumber(rs.getString("job_number"));
+        entry.setDescription(rs.getString("description"));
+        entry.setDebit(amount.signum() > 0 ? amount : BigDecimal.ZERO);
+        entry.setCredit(amount.signum() < 0 ? amount.negate() : BigDecimal.ZERO);
+        entry.setRunningBalance(rs.getBigDecimal("running_balance"));
+        return entry;
+    };
+
+    // Sorts before every real entry, used when no cursor is given
+    private static final LocalDateTime START = LocalDateTime.of(1, 1, 1, 0, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public CustomerLedgerPage getLedgerPage(Long customerId, LocalDateTime afterTimestamp, LedgerEntry.EntryType afterType,
+                                            Long afterId, BigDecimal afterBalance, int size) {
+        boolean hasCursor = afterTimestamp != null && afterType != null && afterId != null;
+        Timestamp cursorAt = Timestamp.valueOf(hasCursor ? afterTimestamp : START);
+        int cursorOrder = hasCursor ? afterType.ordinal() : -1;
+        long cursorId = hasCursor ? afterId : Long.MIN_VALUE;
+
+        BigDecimal openingBalance = BigDecimal.ZERO;
+        if (hasCursor) {
+            openingBalance = afterBalance != null ? afterBalance : jdbcTemplate.queryForObject(
+                    OPENING_BALANCE_SQL, BigDecimal.class, customerId, cursorAt, cursorOrder, cursorId);
+        }
+
+        // Fetch one extra row to know whether another page exists
+        List<LedgerEntry> rows = jdbcTemplate.query(PAGE_SQL, ROW_MAPPER,
+                customerId, openingBalance, cursorAt, cursorOrder, cursorId, size + 1);
+
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+
+        CustomerLedgerPage page = new CustomerLedgerPage();
+        page.setCustomerId(customerId);
+        page.setItems(rows);
+        if (!hasCursor) {
+            page.setClosingBalance(jdbcTemplate.queryForObject(CLOSING_BALANCE_SQL, BigDecimal.class, customerId));
+        }
+        page.setHasMore(hasMore);
+        if (!rows.isEmpty()) {
+            LedgerEntry last = rows.get(rows.size() - 1);
+            page.setNextCursorTimestamp(last.getEntryAt());
+            page.setNextCursorType(last.getEntryType());
+            page.setNextCursorId(last.getEntryId());
+            page.setNextCursorBalance(last.getRunningBalance());
+        }
+        return page;
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.printingApp.service;
+
+import com.example.printingApp.dto.CustomerSuggestion;
+import com.example.printingApp.model.Customer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory typeahead over customer name, phone and customer number. Each customer's searchable
+ * text is split into trigrams; a query of three or more characters only inspects customers that
+ * share all of its trigrams, shorter queries scan the (small) directory. The index is built at
+ * startup and kept current by CustomerService; until it is ready, searches go to Postgres, where
+ * trigram GIN indexes back the same substring match.
+ */
+@Service
+public class CustomerSearchIndex {
+
+    private static final String LOAD_SQL = "SELECT id, customer_number, name, phone FROM customers";
+
+    private static final String FALLBACK_SQL =
+            "SELECT id, customer_number, name, phone FROM customers " +
+            "WHERE lower(name) LIKE ? ESCAPE '\\' OR lower(phone) LIKE ? ESCAPE '\\' " +
+            "OR lower(customer_number) LIKE ? ESCAPE '\\' " +
+            "ORDER BY lower(name) LIKE ? ESCAPE '\\' DESC, name, id LIMIT ?";
+
+    private static final RowMapper<CustomerSuggestion> ROW_MAPPER = (rs, rowNum) -> new CustomerSuggestion(
+            rs.getLong("id"), rs.getString("customer_number"), rs.getString("name"), rs.getString("phone"));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Guarded by this; readers work on whatever the maps hold at the time
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1)
+    public void createTrigramIndexes() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            // Expression indexes on lower(...) also serve the older LOWER(name) LIKE queries
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_customers_name_trgm ON customers USING gin (lower(name) gin_trgm_ops)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_customers_phone_trgm ON customers USING gin (lower(phone) gin_trgm_ops)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_customers_number_trgm ON customers USING gin (lower(customer_number) gin_trgm_ops)");
+        } catch (Exception e) {
+            System.err.println("Could not create customer trigram indexes: " + e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(2)
+    public void load() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            System.err.println("Could not build customer search index: " + e.getMessage());
+        }
+    }
+
+    // Saves and deletes wait for a rebuild in progress, so none of them is lost or overwritten
+    public synchronized void rebuild() {
+        ready = false;
+        entries.clear();
+        postings.clear();
+        for (CustomerSuggestion suggestion : jdbcTemplate.query(LOAD_SQL, ROW_MAPPER)) {
+            add(suggestion);
+        }
+        ready = true;
+    }
+
+    public synchronized void put(Customer customer) {
+        remove(customer.getId());
+        add(new CustomerSuggestion(customer.getId(), customer.getCustomerNumber(), customer.getName(), customer.getPhone()));
+    }
+
+    public synchronized void remove(Long customerId) {
+        Entry entry = entries.remove(customerId);
+        if (entry == null) {
+            return;
+        }
+        for (String trigram : trigrams(entry.text)) {
+            Set<Long> ids = postings.get(trigram);
+            if (ids != null) {
+                ids.remove(customerId);
+                if (ids.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    // Best matches first: name prefix, then a word in the name starting with the query, then any substring
+    public List<CustomerSuggestion> search(String query, int limit) {
+        String needle = normalize(query);
+        if (needle.isEmpty()) {
+            return List.of();
+        }
+        if (!ready) {
+            return searchDatabase(needle, limit);
+        }
+
+        List<Entry> matches = new ArrayList<>();
+        synchronized (this) {
+            for (Entry entry : candidates(needle)) {
+                if (entry.text.contains(needle)) {
+                    matches.add(entry);
+                }
+            }
+        }
+        return matches.stream()
+                .sorted(Comparator.comparingInt((Entry entry) -> entry.rank(needle))
+                        .thenComparing(entry -> entry.name)
+                        .thenComparing(entry -> entry.suggestion.getId()))
+                .limit(limit)
+                .map(entry -> entry.suggestion)
+                .toList();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        synchronized (this) {
+            stats.put("ready", ready);
+            stats.put("customers", entries.size());
+            stats.put("trigrams", postings.size());
+        }
+        return stats;
+    }
+
+    // Customers sharing every trigram of the query, smallest posting list first
+    private Iterable<Entry> candidates(String needle) {
+        if (needle.length() < 3) {
+            return entries.values();
+        }
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String trigram : trigrams(needle)) {
+            Set<Long> ids = postings.get(trigram);
+            if (ids == null) {
+                return List.of();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        List<Entry> result = new ArrayList<>();
+        for (Long id : lists.get(0)) {
+            boolean inAll = true;
+            for (int i = 1; i < lists.size() && inAll; i++) {
+                inAll = lists.get(i).contains(id);
+            }
+            if (inAll) {
+                result.add(entries.get(id));
+            }
+        }
+        return result;
+    }
+
+    private List<CustomerSuggestion> searchDatabase(String needle, int limit) {
+        String escaped = needle.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        String contains = "%" + escaped + "%";
+        return jdbcTemplate.query(FALLBACK_SQL, ROW_MAPPER, contains, contains, contains, escaped + "%", limit);
+    }
+
+    private void add(CustomerSuggestion suggestion) {
+        Entry entry = new Entry(suggestion);
+        entries.put(suggestion.getId(), entry);
+        for (String trigram : trigrams(entry.text)) {
+            postings.computeIfAbsent(trigram, key -> new HashSet<>()).add(suggestion.getId());
+        }
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            result.add(text.substring(i, i + 3));
+        }
+        return result;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static class Entry {
+        private final CustomerSuggestion suggestion;
+        private final String name;
+        // Name, phone and number joined by a separator no query contains, so matches never span fields
+        private final String text;
+
+        Entry(CustomerSuggestion suggestion) {
+            this.suggestion = suggestion;
+            this.name = normalize(suggestion.getName());
+            this.text = name + "\n" + normalize(suggestion.getPhone()) + "\n" + normalize(suggestion.getCustomerNumber());
+        }
+
+        int rank(String needle) {
+            if (name.startsWith(needle)) {
+                return 0;
+            }
+            if (name.contains(" " + needle)) {
+                return 1;
+            }
+            return 2;
+        }
+    }
+}
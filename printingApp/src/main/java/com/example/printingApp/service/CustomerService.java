@@ -1,5 +1,7 @@
 package com.example.printingApp.service;
 
+import com.example.printingApp.dto.CustomerListView;
+import com.example.printingApp.dto.CustomerSuggestion;
 import com.example.printingApp.model.*;
 import com.example.printingApp.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,30 +10,60 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class CustomerService {
+    // Keeps the response lean and the id list well inside the bind-parameter limit
+    private static final int MAX_SEARCH_RESULTS = 100;
+
     @Autowired
     private CustomerRepository customerRepository;
 
-    public List<Customer> getAllCustomers() {
-        return customerRepository.findAll();
+    @Autowired
+    private CustomerSearchIndex customerSearchIndex;
+
+    public List<CustomerListView> getAllCustomers() {
+        return customerRepository.findAllWithTotals();
     }
 
     public Optional<Customer> getCustomerById(Long id) {
         return customerRepository.findById(id);
     }
 
-    public List<Customer> searchCustomers(String name) {
-        return customerRepository.findByNameContainingIgnoreCase(name);
+    public boolean existsById(Long id) {
+        return customerRepository.existsById(id);
+    }
+
+    // Top matches from the search index (name, phone or customer number), in its ranking order
+    public List<CustomerListView> searchCustomers(String name) {
+        List<Long> ids = customerSearchIndex.search(name, MAX_SEARCH_RESULTS).stream()
+                .map(CustomerSuggestion::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, CustomerListView> byId = customerRepository.findWithTotalsByIds(ids).stream()
+                .collect(Collectors.toMap(CustomerListView::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    public List<CustomerSuggestion> suggestCustomers(String query, int limit) {
+        return customerSearchIndex.search(query, limit);
     }
 
     public Customer saveCustomer(Customer customer) {
-        return customerRepository.save(customer);
+        Customer saved = customerRepository.save(customer);
+        customerSearchIndex.put(saved);
+        return saved;
     }
 
     public void deleteCustomer(Long id) {
         customerRepository.deleteById(id);
+        customerSearchIndex.remove(id);
     }
 }
@@ -0,0 +1,257 @@
+package com.example.printingApp.service;
+
+import com.example.printingApp.repository.DailyPrintStatRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Keeps daily_print_stats in step with print_jobs. Callers capture the affected jobs' contributions
+ * before a write and hand them back afterwards; the difference is applied as upserts in the same
+ * transaction, so the aggregate never needs a full scan except on rebuild.
+ */
+@Service
+public class DailyPrintStatService {
+
+    // One row per job as it counts towards the aggregate. Other prints keep their amounts and
+    // print date in other_prints, so those columns win when present.
+    private static final String CONTRIBUTION_SELECT =
+            "SELECT pj.id AS id, " +
+            "COALESCE(op.print_date, CAST(pj.created_at AS date), DATE '1970-01-01') AS stat_date, " +
+            "COALESCE(pj.print_type, CASE WHEN op.id IS NOT NULL THEN 'OTHER' ELSE 'UNKNOWN' END) AS print_type, " +
+            "COALESCE(pj.payment_status, 'UNKNOWN') AS payment_status, " +
+            "COALESCE(op.total_amount, pj.total_amount, 0) AS total_amount, " +
+            "COALESCE(op.total_cost, pj.expenses_cost, 0) AS total_cost, " +
+            "COALESCE(op.amount_paid, pj.amount_paid, 0) AS amount_paid, " +
+            "COALESCE(op.balance, pj.balance, 0) AS outstanding " +
+            "FROM print_jobs pj LEFT JOIN other_prints op ON op.id = pj.id";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO daily_print_stats (stat_date, print_type, payment_status, job_count, " +
+            "total_amount, total_cost, amount_paid, outstanding) VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (stat_date, print_type, payment_status) DO UPDATE SET " +
+            "job_count = daily_print_stats.job_count + EXCLUDED.job_count, " +
+            "total_amount = daily_print_stats.total_amount + EXCLUDED.total_amount, " +
+            "total_cost = daily_print_stats.total_cost + EXCLUDED.total_cost, " +
+            "amount_paid = daily_print_stats.amount_paid + EXCLUDED.amount_paid, " +
+            "outstanding = daily_print_stats.outstanding + EXCLUDED.outstanding";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    @Autowired
+    private DailyPrintStatRepository dailyPrintStatRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public Map<Long, JobStat> capture(Long jobId) {
+        return jobId == null ? new HashMap<>() : capture(List.of(jobId));
+    }
+
+    // Flushes first so pending entity changes (and their @PreUpdate totals) are visible to the query.
+    // The job rows stay locked until the caller's transaction ends, so a concurrent writer cannot
+    // capture the same "before" and have its delta applied twice; ids are locked in order.
+    public Map<Long, JobStat> capture(Collection<Long> jobIds) {
+        Map<Long, JobStat> stats = new HashMap<>();
+        if (jobIds.isEmpty()) {
+            return stats;
+        }
+        entityManager.flush();
+        namedParameterJdbcTemplate.query(CONTRIBUTION_SELECT + " WHERE pj.id IN (:ids) ORDER BY pj.id FOR UPDATE OF pj",
+                new MapSqlParameterSource("ids", jobIds),
+                rs -> {
+                    stats.put(rs.getLong("id"), new JobStat(
+                            rs.getDate("stat_date").toLocalDate(),
+                            rs.getString("print_type"),
+                            rs.getString("payment_status"),
+                            rs.getBigDecimal("total_amount"),
+                            rs.getBigDecimal("total_cost"),
+                            rs.getBigDecimal("amount_paid"),
+                            rs.getBigDecimal("outstanding")));
+                });
+        return stats;
+    }
+
+    public void recordChange(Map<Long, JobStat> before, Long jobId) {
+        recordChange(before, jobId == null ? List.of() : List.of(jobId));
+    }
+
+    // Re-reads the jobs after the write and applies (after - before); deleted jobs simply read back as absent
+    public void recordChange(Map<Long, JobStat> before, Collection<Long> jobIds) {
+        Set<Long> ids = new LinkedHashSet<>(before.keySet());
+        ids.addAll(jobIds);
+        Map<Long, JobStat> after = capture(ids);
+
+        List<Object[]> deltas = new ArrayList<>();
+        for (Long id : ids) {
+            JobStat old = before.get(id);
+            JobStat current = after.get(id);
+            if (Objects.equals(old, current)) {
+                continue;
+            }
+            if (old != null) {
+                deltas.add(old.toRow(-1));
+            }
+            if (current != null) {
+                deltas.add(current.toRow(1));
+            }
+        }
+        if (!deltas.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, deltas);
+        }
+    }
+
+    // First start after the table was introduced: seed it so later deltas have a base to apply to
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeIfEmpty() {
+        try {
+            if (dailyPrintStatRepository.count() == 0) {
+                // Self-invocation skips the @Transactional proxy, so open the transaction explicitly
+                transactionTemplate.execute(status -> rebuild());
+            }
+        } catch (Exception e) {
+            System.err.println("Could not initialize daily print stats: " + e.getMessage());
+        }
+    }
+
+    // Recomputes the whole table from print_jobs, e.g. after a bulk import or manual data fix
+    @Transactional
+    public int rebuild() {
+        jdbcTemplate.update("DELETE FROM daily_print_stats");
+        return jdbcTemplate.update(
+                "INSERT INTO daily_print_stats (stat_date, print_type, payment_status, job_count, " +
+                "total_amount, total_cost, amount_paid, outstanding) " +
+                "SELECT stat_date, print_type, payment_status, COUNT(*), SUM(total_amount), SUM(total_cost), " +
+                "SUM(amount_paid), SUM(outstanding) FROM (" + CONTRIBUTION_SELECT + ") j " +
+                "GROUP BY stat_date, print_type, payment_status");
+    }
+
+    public Map<String, Object> getTotals(LocalDate startDate, LocalDate endDate) {
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        BigDecimal totalCost = BigDecimal.ZERO;
+        BigDecimal totalAmountPaid = BigDecimal.ZERO;
+        BigDecimal totalOutstanding = BigDecimal.ZERO;
+        long totalCount = 0;
+        Map<String, Long> countByStatus = new HashMap<>();
+        Map<String, Map<String, Object>> byPrintType = new HashMap<>();
+
+        for (Object[] row : dailyPrintStatRepository.sumByTypeAndStatus(startDate, endDate)) {
+            String printType = (String) row[0];
+            String paymentStatus = (String) row[1];
+            long count = ((Number) row[2]).longValue();
+            BigDecimal revenue = (BigDecimal) row[3];
+            BigDecimal cost = (BigDecimal) row[4];
+            BigDecimal paid = (BigDecimal) row[5];
+            BigDecimal outstanding = (BigDecimal) row[6];
+
+            totalCount += count;
+            totalRevenue = totalRevenue.add(revenue);
+            totalCost = totalCost.add(cost);
+            totalAmountPaid = totalAmountPaid.add(paid);
+            totalOutstanding = totalOutstanding.add(outstanding);
+            countByStatus.merge(paymentStatus, count, Long::sum);
+
+            Map<String, Object> type = byPrintType.computeIfAbsent(printType, k -> {
+                Map<String, Object> totals = new HashMap<>();
+                totals.put("count", 0L);
+                totals.put("revenue", BigDecimal.ZERO);
+                totals.put("cost", BigDecimal.ZERO);
+                totals.put("amountPaid", BigDecimal.ZERO);
+                totals.put("outstanding", BigDecimal.ZERO);
+                return totals;
+            });
+            type.put("count", (Long) type.get("count") + count);
+            type.put("revenue", ((BigDecimal) type.get("revenue")).add(revenue));
+            type.put("cost", ((BigDecimal) type.get("cost")).add(cost));
+            type.put("amountPaid", ((BigDecimal) type.get("amountPaid")).add(paid));
+            type.put("outstanding", ((BigDecimal) type.get("outstanding")).add(outstanding));
+        }
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("startDate", startDate);
+        summary.put("endDate", endDate);
+        summary.put("totalCount", totalCount);
+        summary.put("countByPaymentStatus", countByStatus);
+        summary.put("totalRevenue", totalRevenue);
+        summary.put("totalCost", totalCost);
+        summary.put("totalAmountPaid", totalAmountPaid);
+        summary.put("totalOutstanding", totalOutstanding);
+        summary.put("totalProfit", totalRevenue.subtract(totalCost));
+        summary.put("byPrintType", byPrintType);
+        return summary;
+    }
+
+    public static class JobStat {
+        private final LocalDate statDate;
+        private final String printType;
+        private final String paymentStatus;
+        private final BigDecimal totalAmount;
+        private final BigDecimal totalCost;
+        private final BigDecimal amountPaid;
+        private final BigDecimal outstanding;
+
+        public JobStat(LocalDate statDate, String printType, String paymentStatus, BigDecimal totalAmount,
+                       BigDecimal totalCost, BigDecimal amountPaid, BigDecimal outstanding) {
+            this.statDate = statDate;
+            this.printType = printType;
+            this.paymentStatus = paymentStatus;
+            this.totalAmount = totalAmount;
+            this.totalCost = totalCost;
+            this.amountPaid = amountPaid;
+            this.outstanding = outstanding;
+        }
+
+        Object[] toRow(int sign) {
+            BigDecimal factor = BigDecimal.valueOf(sign);
+            return new Object[] {
+                    Date.valueOf(statDate), printType, paymentStatus, sign,
+                    totalAmount.multiply(factor), totalCost.multiply(factor),
+                    amountPaid.multiply(factor), outstanding.multiply(factor)
+            };
+        }
+
+        // compareTo-based so 10.0 and 10.00 count as unchanged
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof JobStat)) return false;
+            JobStat other = (JobStat) o;
+            return statDate.equals(other.statDate)
+                    && printType.equals(other.printType)
+                    && paymentStatus.equals(other.paymentStatus)
+                    && totalAmount.compareTo(other.totalAmount) == 0
+                    && totalCost.compareTo(other.totalCost) == 0
+                    && amountPaid.compareTo(other.amountPaid) == 0
+                    && outstanding.compareTo(other.outstanding) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(statDate, printType, paymentStatus);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.printingApp.service;
 
+import com.example.printingApp.exception.PrintJobNotFoundException;
+import com.example.printingApp.exception.VersionConflictException;
 import com.example.printingApp.model.*;
 import com.example.printingApp.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +11,7 @@ import org.springframework.transaction.annotation.Transactional;
 import jakarta.servlet.http.HttpServletRequest;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -19,6 +22,8 @@ public class DigitalPrintService {
     private CustomerRepository customerRepository;
     @Autowired
     private AuditLogService auditLogService;
+    @Autowired
+    private DailyPrintStatService dailyPrintStatService;
 
     public List<DigitalPrint> getAllDigitalPrints() {
         return digitalPrintRepository.findAll();
@@ -39,12 +44,36 @@ public class DigitalPrintService {
 
     @Transactional
     public DigitalPrint saveDigitalPrint(DigitalPrint digitalPrint, String userId, HttpServletRequest request) {
+        DigitalPrint oldEntity = digitalPrint.getId() != null ? digitalPrintRepository.findById(digitalPrint.getId()).orElse(null) : null;
+        return saveDigitalPrint(digitalPrint, oldEntity, userId, request);
+    }
+
+    // Loads the current row once and reuses it for the version check and the audit snapshot
+    @Transactional
+    public DigitalPrint updateDigitalPrint(Long id, DigitalPrint digitalPrint, String userId, HttpServletRequest request) {
+        DigitalPrint existingPrint = digitalPrintRepository.findById(id)
+                .orElseThrow(() -> new PrintJobNotFoundException("DigitalPrint", id));
+        digitalPrint.setId(id);
+        digitalPrint.setCreatedAt(existingPrint.getCreatedAt()); // Preserve creation date
+        return saveDigitalPrint(digitalPrint, existingPrint, userId, request);
+    }
+
+    // oldEntity is the already-loaded current row for an update, or null for a create
+    private DigitalPrint saveDigitalPrint(DigitalPrint digitalPrint, DigitalPrint oldEntity, String userId, HttpServletRequest request) {
         boolean isUpdate = digitalPrint.getId() != null;
-        DigitalPrint oldEntity = null;
-        
-        if (isUpdate) {
-            oldEntity = digitalPrintRepository.findById(digitalPrint.getId()).orElse(null);
+        Object oldValues = null;
+
+        if (oldEntity != null) {
+            if (digitalPrint.getVersion() == null) {
+                // Clients that don't send a version keep last-write-wins behaviour
+                digitalPrint.setVersion(oldEntity.getVersion());
+            } else if (!digitalPrint.getVersion().equals(oldEntity.getVersion())) {
+                throw new VersionConflictException(oldEntity.getId(), oldEntity.getVersion());
+            }
+            // Saving merges into oldEntity, so take the audit copy first
+            oldValues = auditLogService.snapshot(oldEntity);
         }
+        Map<Long, DailyPrintStatService.JobStat> statsBefore = dailyPrintStatService.capture(digitalPrint.getId());
 
         // Ensure print type is set
         digitalPrint.setPrintType(PrintJob.PrintType.DIGITAL);
@@ -68,10 +97,11 @@ public class DigitalPrintService {
         }
 
         DigitalPrint savedEntity = digitalPrintRepository.save(digitalPrint);
+        dailyPrintStatService.recordChange(statsBefore, savedEntity.getId());
 
         // Log audit action
         AuditLog.AuditAction action = isUpdate ? AuditLog.AuditAction.UPDATE : AuditLog.AuditAction.CREATE;
-        auditLogService.logAction("DigitalPrint", savedEntity.getId(), action, oldEntity, savedEntity, userId, request);
+        auditLogService.logAction("DigitalPrint", savedEntity.getId(), action, oldValues, savedEntity, userId, request);
 
         return savedEntity;
     }
@@ -80,8 +110,10 @@ public class DigitalPrintService {
     public void deleteDigitalPrint(Long id, String userId, HttpServletRequest request) {
         DigitalPrint digitalPrint = digitalPrintRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("DigitalPrint not found"));
-        
+        Map<Long, DailyPrintStatService.JobStat> statsBefore = dailyPrintStatService.capture(id);
+
         digitalPrintRepository.deleteById(id);
+        dailyPrintStatService.recordChange(statsBefore, id);
         
         // Log audit action
         auditLogService.logAction("DigitalPrint", id, AuditLog.AuditAction.DELETE, digitalPrint, null, userId, request);
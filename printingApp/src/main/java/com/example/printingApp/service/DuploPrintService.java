@@ -1,5 +1,6 @@
 package com.example.printingApp.service;
 
+import com.example.printingApp.exception.VersionConflictException;
 import com.example.printingApp.model.*;
 import com.example.printingApp.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +10,7 @@ import org.springframework.transaction.annotation.Transactional;
 import jakarta.servlet.http.HttpServletRequest;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -21,6 +23,8 @@ public class DuploPrintService {
 
     @Autowired
     private AuditLogService auditLogService;
+    @Autowired
+    private DailyPrintStatService dailyPrintStatService;
 
     public List<DuploPrint> getAllDuploPrints() {
         return duploPrintRepository.findAll();
@@ -41,12 +45,26 @@ public class DuploPrintService {
 
     @Transactional
     public DuploPrint saveDuploPrint(DuploPrint duploPrint, String userId, HttpServletRequest request) {
+        DuploPrint oldEntity = duploPrint.getId() != null ? duploPrintRepository.findById(duploPrint.getId()).orElse(null) : null;
+        return saveDuploPrint(duploPrint, oldEntity, userId, request);
+    }
+
+    // oldEntity is the already-loaded current row for an update, or null for a create
+    private DuploPrint saveDuploPrint(DuploPrint duploPrint, DuploPrint oldEntity, String userId, HttpServletRequest request) {
         boolean isUpdate = duploPrint.getId() != null;
-        DuploPrint oldEntity = null;
-        
-        if (isUpdate) {
-            oldEntity = duploPrintRepository.findById(duploPrint.getId()).orElse(null);
+        Object oldValues = null;
+
+        if (oldEntity != null) {
+            if (duploPrint.getVersion() == null) {
+                // Clients that don't send a version keep last-write-wins behaviour
+                duploPrint.setVersion(oldEntity.getVersion());
+            } else if (!duploPrint.getVersion().equals(oldEntity.getVersion())) {
+                throw new VersionConflictException(oldEntity.getId(), oldEntity.getVersion());
+            }
+            // Saving merges into oldEntity, so take the audit copy first
+            oldValues = auditLogService.snapshot(oldEntity);
         }
+        Map<Long, DailyPrintStatService.JobStat> statsBefore = dailyPrintStatService.capture(duploPrint.getId());
         // Ensure print type is set
         duploPrint.setPrintType(PrintJob.PrintType.DUPLO);
 
@@ -80,10 +98,11 @@ public class DuploPrintService {
         }
 
         DuploPrint savedEntity = duploPrintRepository.save(duploPrint);
+        dailyPrintStatService.recordChange(statsBefore, savedEntity.getId());
 
         // Log audit action
         AuditLog.AuditAction action = isUpdate ? AuditLog.AuditAction.UPDATE : AuditLog.AuditAction.CREATE;
-        auditLogService.logAction("DuploPrint", savedEntity.getId(), action, oldEntity, savedEntity, userId, request);
+        auditLogService.logAction("DuploPrint", savedEntity.getId(), action, oldValues, savedEntity, userId, request);
 
         return savedEntity;
     }
@@ -97,8 +116,10 @@ public class DuploPrintService {
     public void deleteDuploPrint(Long id, String userId, HttpServletRequest request) {
         DuploPrint duploPrint = duploPrintRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("DuploPrint not found"));
-        
+        Map<Long, DailyPrintStatService.JobStat> statsBefore = dailyPrintStatService.capture(id);
+
         duploPrintRepository.deleteById(id);
+        dailyPrintStatService.recordChange(statsBefore, id);
         
         // Log audit action
         auditLogService.logAction("DuploPrint", id, AuditLog.AuditAction.DELETE, duploPrint, null, userId, request);
@@ -115,7 +136,7 @@ public class DuploPrintService {
                 .map(existingPrint -> {
                     duploPrint.setId(id);
                     duploPrint.setCreatedAt(existingPrint.getCreatedAt()); // Preserve creation date
-                    return saveDuploPrint(duploPrint, userId, request);
+                    return saveDuploPrint(duploPrint, existingPrint, userId, request);
                 })
                 .orElseThrow(() -> new RuntimeException("Duplo print not found with id: " + id));
     }
@@ -0,0 +1,180 @@
+package com.example.printingApp.service;
+
+import com.example.printingApp.dto.PrintJobListView;
+import com.example.printingApp.model.AuditLog;
+import com.example.printingApp.model.Expense;
+import com.example.printingApp.repository.AuditLogRepository;
+import com.example.printingApp.repository.ExpenseRepository;
+import com.example.printingApp.repository.PrintJobRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Streams exports straight from a database cursor to the response. Rows are written one at a time
+ * inside a read-only transaction and the persistence context is cleared as we go, so memory stays
+ * flat regardless of how many rows the range covers.
+ */
+@Service
+public class ExportService {
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    // Rows between persistence-context clears and output flushes
+    private static final int CLEAR_INTERVAL = 500;
+
+    private static final List<String> PRINT_JOB_COLUMNS = Arrays.asList(
+            "id", "jobNumber", "jobName", "printType", "customerId", "customerName",
+            "totalAmount", "amountPaid", "balance", "paymentStatus", "createdAt");
+
+    private static final List<String> EXPENSE_COLUMNS = Arrays.asList(
+            "id", "expenseNumber", "description", "expenseType", "amount", "grnNumber", "expenseDate",
+            "invoiceNumber", "supplierId", "supplierName", "paymentStatus", "paymentDueDate", "paymentDate",
+            "notes", "createdAt");
+
+    private static final List<String> AUDIT_LOG_COLUMNS = Arrays.asList(
+            "id", "entityType", "entityId", "action", "timestamp", "userId",
+            "oldValues", "newValues", "changes", "ipAddress", "userAgent");
+
+    @Autowired
+    private PrintJobRepository printJobRepository;
+    @Autowired
+    private ExpenseRepository expenseRepository;
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public void exportPrintJobs(LocalDate startDate, LocalDate endDate, Format format, OutputStream out) {
+        export(PRINT_JOB_COLUMNS, format, out,
+                () -> printJobRepository.streamForExport(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay()),
+                (PrintJobListView job) -> new Object[] {
+                        job.getId(), job.getJobNumber(), job.getJobName(), job.getPrintType(),
+                        job.getCustomerId(), job.getCustomerName(), job.getTotalAmount(), job.getAmountPaid(),
+                        job.getBalance(), job.getPaymentStatus(), job.getCreatedAt()
+                });
+    }
+
+    public void exportExpenses(LocalDate startDate, LocalDate endDate, Format format, OutputStream out) {
+        export(EXPENSE_COLUMNS, format, out,
+                () -> expenseRepository.streamForExport(startDate, endDate),
+                (Expense expense) -> new Object[] {
+                        expense.getId(), expense.getExpenseNumber(), expense.getDescription(),
+                        expense.getExpenseType(), expense.getAmount(), expense.getGrnNumber(),
+                        expense.getExpenseDate(), expense.getInvoiceNumber(),
+                        expense.getSupplier() != null ? expense.getSupplier().getId() : null,
+                        expense.getSupplier() != null ? expense.getSupplier().getName() : null,
+                        expense.getPaymentStatus(), expense.getPaymentDueDate(), expense.getPaymentDate(),
+                        expense.getNotes(), expense.getCreatedAt()
+                });
+    }
+
+    public void exportAuditLogs(LocalDate startDate, LocalDate endDate, Format format, OutputStream out) {
+        export(AUDIT_LOG_COLUMNS, format, out,
+                () -> auditLogRepository.streamForExport(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay()),
+                (AuditLog log) -> new Object[] {
+                        log.getId(), log.getEntityType(), log.getEntityId(), log.getAction(), log.getTimestamp(),
+                        log.getUserId(), log.getOldValues(), log.getNewValues(), log.getChanges(),
+                        log.getIpAddress(), log.getUserAgent()
+                });
+    }
+
+    private <T> void export(List<String> columns, Format format, OutputStream out,
+                            Supplier<Stream<T>> source, Function<T, Object[]> toRow) {
+        // The stream's cursor only lives as long as the transaction, so the whole write happens inside it
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            try (Stream<T> rows = source.get()) {
+                if (format == Format.CSV) {
+                    writeCsvLine(writer, columns.toArray());
+                }
+                // Push the header out right away so the download starts before the first chunk is read
+                writer.flush();
+
+                int count = 0;
+                Iterator<T> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    Object[] values = toRow.apply(iterator.next());
+                    if (format == Format.CSV) {
+                        writeCsvLine(writer, values);
+                    } else {
+                        writeJsonLine(writer, columns, values);
+                    }
+                    if (++count % CLEAR_INTERVAL == 0) {
+                        entityManager.clear();
+                        writer.flush();
+                    }
+                }
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvValue(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+
+    private void writeJsonLine(Writer writer, List<String> columns, Object[] values) throws IOException {
+        Map<String, Object> line = new LinkedHashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            Object value = values[i];
+            // Write dates and enums as plain strings so every line has the same shape
+            if (value instanceof LocalDate || value instanceof LocalDateTime || value instanceof Enum) {
+                value = value.toString();
+            }
+            line.put(columns.get(i), value);
+        }
+        writer.write(objectMapper.writeValueAsString(line));
+        writer.write('\n');
+    }
+}
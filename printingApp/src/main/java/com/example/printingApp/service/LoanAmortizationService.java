@@ -0,0 +1,205 @@
+package com.example.printingApp.service;
+
+import com.example.printingApp.model.AmortizationSchedule;
+import com.example.printingApp.model.Loan;
+import com.example.printingApp.model.LoanPayment;
+import com.example.printingApp.repository.LoanRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Computes and caches loan amortization schedules, and creates a loan's installment rows from them.
+ * A cached schedule is reused only while the loan's principal, rate, term and installment are unchanged.
+ */
+@Service
+public class LoanAmortizationService {
+
+    // One statement with the columns passed as arrays: its update count is the number of rows really
+    // inserted, where a rewritten JDBC batch only reports SUCCESS_NO_INFO per row
+    private static final String INSERT_SQL =
+            "INSERT INTO loan_payments (loan_id, payment_number, amount, due_date, payment_status, late_fee, " +
+            "principal_component, interest_component, created_at, updated_at) " +
+            "SELECT ?, t.payment_number, t.amount, t.due_date, 'UNPAID', 0, t.principal_component, " +
+            "t.interest_component, ?, ? " +
+            "FROM unnest(?, ?, ?, ?, ?) AS t(payment_number, amount, due_date, principal_component, interest_component)";
+
+    private static final String ON_CONFLICT = " ON CONFLICT (loan_id, payment_number) DO NOTHING";
+
+    @Autowired
+    private LoanRepository loanRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ConcurrentHashMap<Long, CachedSchedule> cache = new ConcurrentHashMap<>();
+
+    // Set once the (loan, payment number) unique index exists; until then inserts rely on the
+    // prefetched payment numbers alone
+    private volatile boolean uniqueInstallmentIndex;
+
+    // Unpaid duplicates of an installment are removed first (keeping a paid one, else the oldest);
+    // if paid duplicates remain, the index is not created and that is logged for a manual fix
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureUniqueInstallmentIndex() {
+        try {
+            int removed = jdbcTemplate.update(
+                    "DELETE FROM loan_payments e USING loan_payments keep " +
+                    "WHERE keep.loan_id = e.loan_id AND keep.payment_number = e.payment_number " +
+                    "AND keep.id <> e.id AND e.payment_status = 'UNPAID' " +
+                    "AND (keep.payment_status <> 'UNPAID' OR keep.id < e.id)");
+            if (removed > 0) {
+                System.err.println("Removed " + removed + " duplicate unpaid loan installments");
+            }
+            jdbcTemplate.execute(
+                    "CREATE UNIQUE INDEX IF NOT EXISTS uk_loan_payments_loan_payment_number " +
+                    "ON loan_payments (loan_id, payment_number)");
+            uniqueInstallmentIndex = true;
+        } catch (Exception e) {
+            System.err.println("Could not create loan installment unique index: " + e.getMessage());
+        }
+    }
+
+    public AmortizationSchedule getSchedule(Loan loan) {
+        if (loan.getId() == null) {
+            return buildSchedule(loan);
+        }
+        CachedSchedule cached = cache.get(loan.getId());
+        if (cached != null && cached.matches(loan)) {
+            return cached.schedule;
+        }
+        AmortizationSchedule schedule = buildSchedule(loan);
+        cache.put(loan.getId(), new CachedSchedule(loan, schedule));
+        return schedule;
+    }
+
+    public void evict(Long loanId) {
+        cache.remove(loanId);
+    }
+
+    // Sets the principal/interest split of a payment from the schedule; amounts that differ from the
+    // scheduled installment keep the scheduled interest and put the rest on principal
+    public void applyComponents(LoanPayment payment) {
+        Loan loan = payment.getLoan();
+        if (loan == null || payment.getAmount() == null || payment.getPaymentNumber() == null || !isComplete(loan)) {
+            return;
+        }
+        AmortizationSchedule.Installment installment = getSchedule(loan).getInstallment(payment.getPaymentNumber());
+        if (installment == null) {
+            return;
+        }
+        BigDecimal interest = installment.getInterestComponent().min(payment.getAmount());
+        payment.setInterestComponent(interest);
+        payment.setPrincipalComponent(payment.getAmount().subtract(interest));
+    }
+
+    // Inserts every scheduled installment the loan doesn't have yet, in one statement; the unique
+    // index makes concurrent runs skip installments the other one already wrote
+    @Transactional
+    public int generatePayments(Long loanId) {
+        Loan loan = loanRepository.findById(loanId)
+                .orElseThrow(() -> new RuntimeException("Loan not found with id: " + loanId));
+        if (!isComplete(loan) || loan.getStartDate() == null) {
+            throw new RuntimeException("Loan is missing principal, rate, term or start date");
+        }
+
+        Set<Integer> existing = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT payment_number FROM loan_payments WHERE loan_id = ?", Integer.class, loanId));
+        List<AmortizationSchedule.Installment> missing = new ArrayList<>();
+        for (AmortizationSchedule.Installment installment : getSchedule(loan).getInstallments()) {
+            if (!existing.contains(installment.getPaymentNumber())) {
+                missing.add(installment);
+            }
+        }
+        if (missing.isEmpty()) {
+            return 0;
+        }
+
+        Object[] paymentNumbers = new Object[missing.size()];
+        Object[] amounts = new Object[missing.size()];
+        Object[] dueDates = new Object[missing.size()];
+        Object[] principals = new Object[missing.size()];
+        Object[] interests = new Object[missing.size()];
+        for (int i = 0; i < missing.size(); i++) {
+            AmortizationSchedule.Installment installment = missing.get(i);
+            paymentNumbers[i] = installment.getPaymentNumber();
+            amounts[i] = installment.getAmount();
+            dueDates[i] = Date.valueOf(loan.getStartDate().plusMonths(installment.getPaymentNumber()));
+            principals[i] = installment.getPrincipalComponent();
+            interests[i] = installment.getInterestComponent();
+        }
+
+        // With the unique index, installments a concurrent run already wrote are skipped and not counted
+        String sql = uniqueInstallmentIndex ? INSERT_SQL + ON_CONFLICT : INSERT_SQL;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            ps.setLong(1, loanId);
+            ps.setTimestamp(2, now);
+            ps.setTimestamp(3, now);
+            ps.setArray(4, connection.createArrayOf("int4", paymentNumbers));
+            ps.setArray(5, connection.createArrayOf("numeric", amounts));
+            ps.setArray(6, connection.createArrayOf("date", dueDates));
+            ps.setArray(7, connection.createArrayOf("numeric", principals));
+            ps.setArray(8, connection.createArrayOf("numeric", interests));
+            return ps;
+        });
+    }
+
+    private boolean isComplete(Loan loan) {
+        return loan.getPrincipalAmount() != null && loan.getInterestRate() != null
+                && loan.getLoanTermMonths() != null && loan.getLoanTermMonths() > 0;
+    }
+
+    private AmortizationSchedule buildSchedule(Loan loan) {
+        if (!isComplete(loan)) {
+            throw new RuntimeException("Loan is missing principal, rate or term");
+        }
+        if (loan.getMonthlyPayment() != null && loan.getMonthlyPayment().signum() > 0) {
+            return AmortizationSchedule.of(loan.getPrincipalAmount(), loan.getInterestRate(),
+                    loan.getLoanTermMonths(), loan.getMonthlyPayment());
+        }
+        return AmortizationSchedule.of(loan.getPrincipalAmount(), loan.getInterestRate(), loan.getLoanTermMonths());
+    }
+
+    private static class CachedSchedule {
+        private final BigDecimal principalAmount;
+        private final BigDecimal interestRate;
+        private final Integer loanTermMonths;
+        private final BigDecimal monthlyPayment;
+        private final AmortizationSchedule schedule;
+
+        CachedSchedule(Loan loan, AmortizationSchedule schedule) {
+            this.principalAmount = loan.getPrincipalAmount();
+            this.interestRate = loan.getInterestRate();
+            this.loanTermMonths = loan.getLoanTermMonths();
+            this.monthlyPayment = loan.getMonthlyPayment();
+            this.schedule = schedule;
+        }
+
+        boolean matches(Loan loan) {
+            return sameAmount(principalAmount, loan.getPrincipalAmount())
+                    && sameAmount(interestRate, loan.getInterestRate())
+                    && Objects.equals(loanTermMonths, loan.getLoanTermMonths())
+                    && sameAmount(monthlyPayment, loan.getMonthlyPayment());
+        }
+
+        private static boolean sameAmount(BigDecimal a, BigDecimal b) {
+            return a == null ? b == null : b != null && a.compareTo(b) == 0;
+        }
+    }
+}
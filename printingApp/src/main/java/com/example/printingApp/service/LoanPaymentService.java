@@ -21,6 +21,9 @@ public class LoanPaymentService {
     @Autowired
     private LoanRepository loanRepository;
 
+    @Autowired
+    private LoanAmortizationService loanAmortizationService;
+
     // Basic CRUD operations only
     public List<LoanPayment> getAllPayments() {
         return loanPaymentRepository.findAll();
@@ -34,6 +37,11 @@ public class LoanPaymentService {
         return loanPaymentRepository.findByLoanIdOrderByPaymentNumberAsc(loanId);
     }
 
+    // Status is kept current by OverdueStatusSweeper, so this is a plain indexed read
+    public List<LoanPayment> getOverduePayments() {
+        return loanPaymentRepository.findByPaymentStatusOrderByDueDateAsc(LoanPayment.PaymentStatus.OVERDUE);
+    }
+
     public List<LoanPayment> getPaymentsByUserId(Long userId) {
         return loanPaymentRepository.getUserPayments(userId);
     }
@@ -49,6 +57,9 @@ public class LoanPaymentService {
             throw new RuntimeException("Loan information is required");
         }
 
+        if (payment.getPrincipalComponent() == null || payment.getInterestComponent() == null) {
+            loanAmortizationService.applyComponents(payment);
+        }
         return loanPaymentRepository.save(payment);
     }
 
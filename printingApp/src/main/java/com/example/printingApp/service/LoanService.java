@@ -1,6 +1,8 @@
 package com.example.printingApp.service;
 
+import com.example.printingApp.dto.LoanSummary;
 import com.example.printingApp.model.Loan;
+import com.example.printingApp.model.LoanPayment;
 import com.example.printingApp.repository.LoanRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -15,11 +17,26 @@ public class LoanService {
     @Autowired
     private LoanRepository loanRepository;
 
+    @Autowired
+    private LoanAmortizationService loanAmortizationService;
+
     // Basic CRUD operations only
     public List<Loan> getAllLoans() {
         return loanRepository.findAll();
     }
 
+    public List<LoanSummary> getAllLoanSummaries() {
+        return loanRepository.findAllSummaries(LoanPayment.PaymentStatus.PAID);
+    }
+
+    public List<LoanSummary> getLoanSummariesByUserId(Long userId) {
+        return loanRepository.findSummariesByUserId(userId, LoanPayment.PaymentStatus.PAID);
+    }
+
+    public List<LoanSummary> getLoanSummariesByStatus(Loan.LoanStatus status) {
+        return loanRepository.findSummariesByStatus(status, LoanPayment.PaymentStatus.PAID);
+    }
+
     public Optional<Loan> getLoanById(Long id) {
         return loanRepository.findById(id);
     }
@@ -37,12 +54,24 @@ public class LoanService {
         return loanRepository.save(loan);
     }
 
+    // Optionally creates all installment rows from the amortization schedule in the same transaction
+    @Transactional
+    public Loan createLoan(Loan loan, boolean generatePayments) {
+        Loan savedLoan = loanRepository.save(loan);
+        if (generatePayments) {
+            loanRepository.flush();
+            loanAmortizationService.generatePayments(savedLoan.getId());
+        }
+        return savedLoan;
+    }
+
     @Transactional
     public Loan updateLoan(Long id, Loan loan) {
         return getLoanById(id)
                 .map(existingLoan -> {
                     loan.setId(id);
                     loan.setCreatedAt(existingLoan.getCreatedAt());
+                    loanAmortizationService.evict(id);
                     return loanRepository.save(loan);
                 })
                 .orElseThrow(() -> new RuntimeException("Loan not found with id: " + id));
@@ -51,5 +80,6 @@ public class LoanService {
     @Transactional
     public void deleteLoan(Long id) {
         loanRepository.deleteById(id);
+        loanAmortizationService.evict(id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,181 @@
+package com.example.printingApp.service;
+
+import com.example.printingApp.model.MonthlyExpenseEntry;
+import com.example.printingApp.model.RecurringExpense;
+import com.example.printingApp.repository.MonthlyExpenseEntryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Creates monthly expense entries for a range of months in one pass: existing keys are prefetched
+ * with a single query, due months are worked out in memory, and only the missing rows are
+ * inserted, a chunk per statement. ON CONFLICT DO NOTHING on the (expense, year, month) unique index, created at
+ * startup, keeps concurrent runs from duplicating entries.
+ */
+@Service
+public class MonthlyEntryGenerator {
+
+    private static final int BATCH_SIZE = 500;
+
+    // One statement per chunk, columns passed as arrays: unlike a rewritten JDBC batch, the update
+    // count is the exact number of rows inserted, also when ON CONFLICT skips some
+    private static final String INSERT_SQL =
+            "INSERT INTO monthly_expense_entries (recurring_expense_id, \"year\", \"month\", amount, " +
+            "payment_status, due_date, created_at, updated_at) " +
+            "SELECT t.expense_id, t.entry_year, t.entry_month, t.amount, t.payment_status, t.due_date, ?, ? " +
+            "FROM unnest(?, ?, ?, ?, ?, ?) AS t(expense_id, entry_year, entry_month, amount, payment_status, due_date)";
+
+    private static final String ON_CONFLICT = " ON CONFLICT (recurring_expense_id, \"year\", \"month\") DO NOTHING";
+
+    @Autowired
+    private MonthlyExpenseEntryRepository monthlyExpenseEntryRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Set once the (expense, year, month) unique index is known to exist; until then ON CONFLICT
+    // would fail outright, so inserts rely on the prefetched keys alone
+    private volatile boolean uniquePeriodIndex;
+
+    // ddl-auto cannot add the unique key while duplicate periods exist. Only unpaid duplicates without
+    // notes are removed (keeping any other row of the period, else the oldest); if duplicates remain,
+    // they are logged for a manual fix and the index is not created
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureUniquePeriodIndex() {
+        try {
+            int removed = jdbcTemplate.update(
+                    "DELETE FROM monthly_expense_entries e USING monthly_expense_entries keep " +
+                    "WHERE keep.recurring_expense_id = e.recurring_expense_id " +
+                    "AND keep.\"year\" = e.\"year\" AND keep.\"month\" = e.\"month\" AND keep.id <> e.id " +
+                    "AND e.payment_status = 'UNPAID' AND COALESCE(e.notes, '') = '' " +
+                    "AND (keep.payment_status <> 'UNPAID' OR COALESCE(keep.notes, '') <> '' OR keep.id < e.id)");
+            if (removed > 0) {
+                System.err.println("Removed " + removed + " duplicate unpaid monthly expense entries");
+            }
+            List<String> remaining = jdbcTemplate.queryForList(
+                    "SELECT recurring_expense_id || ':' || \"year\" || '-' || \"month\" FROM monthly_expense_entries " +
+                    "GROUP BY recurring_expense_id, \"year\", \"month\" HAVING COUNT(*) > 1", String.class);
+            if (!remaining.isEmpty()) {
+                System.err.println("Monthly expense entries need a manual fix; duplicate (expense:year-month) periods: "
+                        + remaining + ". Unique period index not created.");
+                return;
+            }
+            jdbcTemplate.execute(
+                    "CREATE UNIQUE INDEX IF NOT EXISTS uk_monthly_expense_entries_expense_period " +
+                    "ON monthly_expense_entries (recurring_expense_id, \"year\", \"month\")");
+            uniquePeriodIndex = true;
+        } catch (Exception e) {
+            System.err.println("Could not create monthly expense entry period index: " + e.getMessage());
+        }
+    }
+
+    // Every (expense, month) in the range the expense is due for, in month order
+    public List<DueEntry> expand(List<RecurringExpense> expenses, YearMonth from, YearMonth to) {
+        List<DueEntry> due = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            for (RecurringExpense expense : expenses) {
+                if (expense.isDueForMonth(month.getYear(), month.getMonthValue())) {
+                    due.add(new DueEntry(expense, month));
+                }
+            }
+        }
+        return due;
+    }
+
+    // Inserts the auto-generated entries missing for the range; returns how many were written
+    @Transactional
+    public int generate(List<RecurringExpense> expenses, YearMonth from, YearMonth to) {
+        List<RecurringExpense> autoGenerated = new ArrayList<>();
+        for (RecurringExpense expense : expenses) {
+            if (Boolean.TRUE.equals(expense.getAutoGenerate())) {
+                autoGenerated.add(expense);
+            }
+        }
+        if (autoGenerated.isEmpty()) {
+            return 0;
+        }
+
+        Set<String> existing = new HashSet<>();
+        for (Object[] key : monthlyExpenseEntryRepository.findEntryKeysForYears(from.getYear(), to.getYear())) {
+            existing.add(key((Long) key[0], (Integer) key[1], (Integer) key[2]));
+        }
+
+        List<Object[]> rows = new ArrayList<>();
+        for (DueEntry entry : expand(autoGenerated, from, to)) {
+            YearMonth month = entry.getMonth();
+            if (existing.contains(key(entry.getExpense().getId(), month.getYear(), month.getMonthValue()))) {
+                continue;
+            }
+            rows.add(new Object[] {
+                    entry.getExpense().getId(),
+                    month.getYear(),
+                    month.getMonthValue(),
+                    entry.getExpense().getAmount(),
+                    MonthlyExpenseEntry.PaymentStatus.UNPAID.name(),
+                    // Same due date MonthlyExpenseEntry sets on persist: last day of the month
+                    Date.valueOf(month.atEndOfMonth())
+            });
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String sql = uniquePeriodIndex ? INSERT_SQL + ON_CONFLICT : INSERT_SQL;
+        int inserted = 0;
+        for (int i = 0; i < rows.size(); i += BATCH_SIZE) {
+            inserted += insertChunk(sql, rows.subList(i, Math.min(i + BATCH_SIZE, rows.size())), now);
+        }
+        return inserted;
+    }
+
+    private int insertChunk(String sql, List<Object[]> rows, Timestamp now) {
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            ps.setTimestamp(1, now);
+            ps.setTimestamp(2, now);
+            ps.setArray(3, connection.createArrayOf("bigint", column(rows, 0)));
+            ps.setArray(4, connection.createArrayOf("int4", column(rows, 1)));
+            ps.setArray(5, connection.createArrayOf("int4", column(rows, 2)));
+            ps.setArray(6, connection.createArrayOf("numeric", column(rows, 3)));
+            ps.setArray(7, connection.createArrayOf("varchar", column(rows, 4)));
+            ps.setArray(8, connection.createArrayOf("date", column(rows, 5)));
+            return ps;
+        });
+    }
+
+    private static Object[] column(List<Object[]> rows, int index) {
+        Object[] values = new Object[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            values[i] = rows.get(i)[index];
+        }
+        return values;
+    }
+
+    private String key(Long expenseId, int year, int month) {
+        return expenseId + ":" + year + ":" + month;
+    }
+
+    public static class DueEntry {
+        private final RecurringExpense expense;
+        private final YearMonth month;
+
+        public DueEntry(RecurringExpense expense, YearMonth month) {
+            this.expense = expense;
+            this.month = month;
+        }
+
+        public RecurringExpense getExpense() { return expense; }
+        public YearMonth getMonth() { return month; }
+    }
+}
@@ -93,6 +93,16 @@ public class MonthlyExpenseEntryService {
         return monthlyExpenseEntryRepository.getTotalUnpaidExpensesForMonth(year, month);
     }
 
+    // Rows of (paymentStatus, count, sum)
+    public List<Object[]> getStatusTotalsForMonth(int year, int month) {
+        return monthlyExpenseEntryRepository.sumByStatusForMonth(year, month);
+    }
+
+    // Rows of (year, month, paymentStatus, count, sum); months without entries are absent
+    public List<Object[]> getStatusTotalsForYearRange(int startYear, int endYear) {
+        return monthlyExpenseEntryRepository.sumByMonthAndStatusForYears(startYear, endYear);
+    }
+
     // Get entries for a year range (for reporting)
     public List<MonthlyExpenseEntry> getEntriesForYearRange(int startYear, int endYear) {
         return monthlyExpenseEntryRepository.findByYearBetweenOrderByYearDescMonthDesc(startYear, endYear);
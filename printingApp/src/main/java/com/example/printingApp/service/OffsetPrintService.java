@@ -1,5 +1,7 @@
 package com.example.printingApp.service;
 
+import com.example.printingApp.exception.PrintJobNotFoundException;
+import com.example.printingApp.exception.VersionConflictException;
 import com.example.printingApp.model.*;
 import com.example.printingApp.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +11,7 @@ import org.springframework.transaction.annotation.Transactional;
 import jakarta.servlet.http.HttpServletRequest;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -24,6 +27,8 @@ public class OffsetPrintService {
 
     @Autowired
     private AuditLogService auditLogService;
+    @Autowired
+    private DailyPrintStatService dailyPrintStatService;
 
     public List<OffsetPrint> getAllOffsetPrints() {
         return offsetPrintRepository.findAll();
@@ -44,12 +49,36 @@ public class OffsetPrintService {
 
     @Transactional
     public OffsetPrint saveOffsetPrint(OffsetPrint offsetPrint, String userId, HttpServletRequest request) {
+        OffsetPrint oldEntity = offsetPrint.getId() != null ? offsetPrintRepository.findById(offsetPrint.getId()).orElse(null) : null;
+        return saveOffsetPrint(offsetPrint, oldEntity, userId, request);
+    }
+
+    // Loads the current row once and reuses it for the version check and the audit snapshot
+    @Transactional
+    public OffsetPrint updateOffsetPrint(Long id, OffsetPrint offsetPrint, String userId, HttpServletRequest request) {
+        OffsetPrint existingPrint = offsetPrintRepository.findById(id)
+                .orElseThrow(() -> new PrintJobNotFoundException("OffsetPrint", id));
+        offsetPrint.setId(id);
+        offsetPrint.setCreatedAt(existingPrint.getCreatedAt()); // Preserve creation date
+        return saveOffsetPrint(offsetPrint, existingPrint, userId, request);
+    }
+
+    // oldEntity is the already-loaded current row for an update, or null for a create
+    private OffsetPrint saveOffsetPrint(OffsetPrint offsetPrint, OffsetPrint oldEntity, String userId, HttpServletRequest request) {
         boolean isUpdate = offsetPrint.getId() != null;
-        OffsetPrint oldEntity = null;
-        
-        if (isUpdate) {
-            oldEntity = offsetPrintRepository.findById(offsetPrint.getId()).orElse(null);
+        Object oldValues = null;
+
+        if (oldEntity != null) {
+            if (offsetPrint.getVersion() == null) {
+                // Clients that don't send a version keep last-write-wins behaviour
+                offsetPrint.setVersion(oldEntity.getVersion());
+            } else if (!offsetPrint.getVersion().equals(oldEntity.getVersion())) {
+                throw new VersionConflictException(oldEntity.getId(), oldEntity.getVersion());
+            }
+            // Saving merges into oldEntity, so take the audit copy first
+            oldValues = auditLogService.snapshot(oldEntity);
         }
+        Map<Long, DailyPrintStatService.JobStat> statsBefore = dailyPrintStatService.capture(offsetPrint.getId());
 
         // Ensure print type is set
         offsetPrint.setPrintType(PrintJob.PrintType.OFFSET);
@@ -83,10 +112,11 @@ public class OffsetPrintService {
         }
 
         OffsetPrint savedEntity = offsetPrintRepository.save(offsetPrint);
+        dailyPrintStatService.recordChange(statsBefore, savedEntity.getId());
 
         // Log audit action
         AuditLog.AuditAction action = isUpdate ? AuditLog.AuditAction.UPDATE : AuditLog.AuditAction.CREATE;
-        auditLogService.logAction("OffsetPrint", savedEntity.getId(), action, oldEntity, savedEntity, userId, request);
+        auditLogService.logAction("OffsetPrint", savedEntity.getId(), action, oldValues, savedEntity, userId, request);
 
         return savedEntity;
     }
@@ -95,8 +125,10 @@ public class OffsetPrintService {
     public void deleteOffsetPrint(Long id, String userId, HttpServletRequest request) {
         OffsetPrint offsetPrint = offsetPrintRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("OffsetPrint not found"));
-        
+        Map<Long, DailyPrintStatService.JobStat> statsBefore = dailyPrintStatService.capture(id);
+
         offsetPrintRepository.deleteById(id);
+        dailyPrintStatService.recordChange(statsBefore, id);
         
         // Log audit action
         auditLogService.logAction("OffsetPrint", id, AuditLog.AuditAction.DELETE, offsetPrint, null, userId, request);
@@ -1,5 +1,6 @@
 package com.example.printingApp.service;
 
+import com.example.printingApp.exception.VersionConflictException;
 import com.example.printingApp.model.*;
 import com.example.printingApp.repository.OtherPrintRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,6 +23,8 @@ public class OtherPrintService {
 
     @Autowired
     private AuditLogService auditLogService;
+    @Autowired
+    private DailyPrintStatService dailyPrintStatService;
 
     // Basic CRUD operations
     public List<OtherPrint> getAllOtherPrints() {
@@ -52,6 +55,7 @@ public class OtherPrintService {
     @Transactional
     public OtherPrint createOtherPrint(OtherPrint otherPrint, String userId, HttpServletRequest request) {
         OtherPrint savedEntity = otherPrintRepository.save(otherPrint);
+        dailyPrintStatService.recordChange(new HashMap<>(), savedEntity.getId());
 
         // Log audit action
         auditLogService.logAction("OtherPrint", savedEntity.getId(), AuditLog.AuditAction.CREATE, null, savedEntity, userId, request);
@@ -70,10 +74,19 @@ public class OtherPrintService {
                 .map(existingPrint -> {
                     otherPrint.setId(id);
                     otherPrint.setCreatedAt(existingPrint.getCreatedAt());
+                    if (otherPrint.getVersion() == null) {
+                        otherPrint.setVersion(existingPrint.getVersion());
+                    } else if (!otherPrint.getVersion().equals(existingPrint.getVersion())) {
+                        throw new VersionConflictException(existingPrint.getId(), existingPrint.getVersion());
+                    }
+                    // Saving merges into existingPrint, so take the audit copy first
+                    Object oldValues = auditLogService.snapshot(existingPrint);
+                    Map<Long, DailyPrintStatService.JobStat> statsBefore = dailyPrintStatService.capture(id);
                     OtherPrint savedEntity = otherPrintRepository.save(otherPrint);
+                    dailyPrintStatService.recordChange(statsBefore, id);
                     
                     // Log audit action
-                    auditLogService.logAction("OtherPrint", savedEntity.getId(), AuditLog.AuditAction.UPDATE, existingPrint, savedEntity, userId, request);
+                    auditLogService.logAction("OtherPrint", savedEntity.getId(), AuditLog.AuditAction.UPDATE, oldValues, savedEntity, userId, request);
                     
                     return savedEntity;
                 })
@@ -89,8 +102,10 @@ public class OtherPrintService {
     public void deleteOtherPrint(Long id, String userId, HttpServletRequest request) {
         OtherPrint otherPrint = otherPrintRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("OtherPrint not found"));
-        
+        Map<Long, DailyPrintStatService.JobStat> statsBefore = dailyPrintStatService.capture(id);
+
         otherPrintRepository.deleteById(id);
+        dailyPrintStatService.recordChange(statsBefore, id);
         
         // Log audit action
         auditLogService.logAction("OtherPrint", id, AuditLog.AuditAction.DELETE, otherPrint, null, userId, request);
@@ -105,12 +120,15 @@ public class OtherPrintService {
     public OtherPrint updatePayment(Long id, BigDecimal amountPaid, String userId, HttpServletRequest request) {
         return getOtherPrintById(id)
                 .map(existingPrint -> {
+                    Map<Long, DailyPrintStatService.JobStat> statsBefore = dailyPrintStatService.capture(id);
+                    Object oldValues = auditLogService.snapshot(existingPrint);
                     OtherPrint otherPrint = existingPrint;
                     otherPrint.setAmountPaid(amountPaid);
                     OtherPrint savedEntity = otherPrintRepository.save(otherPrint);
+                    dailyPrintStatService.recordChange(statsBefore, id);
                     
                     // Log audit action
-                    auditLogService.logAction("OtherPrint", savedEntity.getId(), AuditLog.AuditAction.UPDATE, existingPrint, savedEntity, userId, request);
+                    auditLogService.logAction("OtherPrint", savedEntity.getId(), AuditLog.AuditAction.UPDATE, oldValues, savedEntity, userId, request);
                     
                     return savedEntity;
                 })
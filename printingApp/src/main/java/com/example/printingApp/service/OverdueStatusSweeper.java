@@ -0,0 +1,107 @@
+package com.example.printingApp.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Flips UNPAID loan payments and monthly expense entries past their due date to OVERDUE.
+ * Runs set-based UPDATEs in bounded chunks (each its own short transaction) so the overdue
+ * endpoints can read the stored status directly.
+ */
+@Component
+public class OverdueStatusSweeper {
+
+    private static final String LOAN_PAYMENTS_SQL =
+            "UPDATE loan_payments SET payment_status = 'OVERDUE', updated_at = CURRENT_TIMESTAMP " +
+            "WHERE id IN (SELECT id FROM loan_payments WHERE payment_status = 'UNPAID' AND due_date < ? LIMIT ?)";
+
+    private static final String EXPENSE_ENTRIES_SQL =
+            "UPDATE monthly_expense_entries SET payment_status = 'OVERDUE', updated_at = CURRENT_TIMESTAMP " +
+            "WHERE id IN (SELECT id FROM monthly_expense_entries WHERE payment_status = 'UNPAID' AND due_date < ? LIMIT ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${overdue.sweeper.chunk-size:1000}")
+    private int chunkSize;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder loanPaymentsTransitioned = new LongAdder();
+    private final LongAdder expenseEntriesTransitioned = new LongAdder();
+    private volatile LocalDateTime lastRunAt;
+    private volatile long lastRunMillis;
+    private volatile int lastRunLoanPayments;
+    private volatile int lastRunExpenseEntries;
+
+    // Catch up on anything that fell due while the application was down
+    @EventListener(ApplicationReadyEvent.class)
+    public void sweepOnStartup() {
+        try {
+            sweep();
+        } catch (Exception e) {
+            System.err.println("Overdue sweep on startup failed: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${overdue.sweeper.cron:0 5 0 * * *}")
+    public void sweep() {
+        // Skip if a previous run (e.g. the startup one) is still going
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            Date today = Date.valueOf(LocalDate.now());
+
+            int loanPayments = sweepTable(LOAN_PAYMENTS_SQL, today);
+            int expenseEntries = sweepTable(EXPENSE_ENTRIES_SQL, today);
+
+            loanPaymentsTransitioned.add(loanPayments);
+            expenseEntriesTransitioned.add(expenseEntries);
+            lastRunLoanPayments = loanPayments;
+            lastRunExpenseEntries = expenseEntries;
+            lastRunMillis = System.currentTimeMillis() - start;
+            lastRunAt = LocalDateTime.now();
+            runs.increment();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private int sweepTable(String sql, Date today) {
+        int total = 0;
+        int updated;
+        do {
+            updated = jdbcTemplate.update(sql, today, chunkSize);
+            total += updated;
+        } while (updated == chunkSize);
+        return total;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("runs", runs.sum());
+        stats.put("chunkSize", chunkSize);
+        stats.put("loanPaymentsTransitioned", loanPaymentsTransitioned.sum());
+        stats.put("expenseEntriesTransitioned", expenseEntriesTransitioned.sum());
+        stats.put("lastRunAt", lastRunAt);
+        stats.put("lastRunMillis", lastRunMillis);
+        stats.put("lastRunLoanPayments", lastRunLoanPayments);
+        stats.put("lastRunExpenseEntries", lastRunExpenseEntries);
+        return stats;
+    }
+}
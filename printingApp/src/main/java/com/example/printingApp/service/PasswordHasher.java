@@ -0,0 +1,153 @@
+package com.example.printingApp.service;
+
+import com.example.printingApp.exception.PasswordHashingBusyException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs BCrypt verification on a small pool sized to the CPU count, so a burst of logins queues
+ * here instead of tying up servlet threads. When the pool and its short queue are full, or a
+ * check waits too long, callers get PasswordHashingBusyException straight away.
+ */
+@Component
+public class PasswordHasher {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[aby]?\\$(\\d{2})\\$");
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Value("${security.bcrypt.strength:10}")
+    private int strength;
+
+    @Value("${security.bcrypt.threads:0}")
+    private int threads;
+
+    @Value("${security.bcrypt.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${security.bcrypt.timeout-ms:5000}")
+    private long timeoutMs;
+
+    private ThreadPoolExecutor executor;
+
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder checkNanos = new LongAdder();
+    private final LongAccumulator maxCheckNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder rehashed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    @PostConstruct
+    public void start() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    // Checks the password; on a match, also re-encodes it if the stored hash uses a different cost
+    public Verification verify(String rawPassword, String encodedPassword) {
+        Future<Verification> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                boolean matches = passwordEncoder.matches(rawPassword, encodedPassword);
+                long elapsed = System.nanoTime() - start;
+                checks.increment();
+                checkNanos.add(elapsed);
+                maxCheckNanos.accumulate(elapsed);
+
+                String newHash = null;
+                if (matches && needsRehash(encodedPassword)) {
+                    newHash = passwordEncoder.encode(rawPassword);
+                    rehashed.increment();
+                }
+                return new Verification(matches, newHash);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException();
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            throw new PasswordHashingBusyException();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException();
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Password check failed", e.getCause());
+        }
+    }
+
+    private boolean needsRehash(String encodedPassword) {
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    public Map<String, Object> getStats() {
+        long count = checks.sum();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("strength", strength);
+        stats.put("poolSize", executor.getMaximumPoolSize());
+        stats.put("active", executor.getActiveCount());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("checks", count);
+        stats.put("avgCheckMillis", count == 0 ? 0.0 : checkNanos.sum() / 1_000_000.0 / count);
+        stats.put("maxCheckMillis", maxCheckNanos.get() / 1_000_000.0);
+        stats.put("rehashed", rehashed.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("timedOut", timedOut.sum());
+        return stats;
+    }
+
+    public static class Verification {
+        private final boolean matches;
+        private final String newHash;
+
+        public Verification(boolean matches, String newHash) {
+            this.matches = matches;
+            this.newHash = newHash;
+        }
+
+        public boolean matches() { return matches; }
+        // Re-encoded password to store, or null if the stored hash is fine as it is
+        public String getNewHash() { return newHash; }
+    }
+}
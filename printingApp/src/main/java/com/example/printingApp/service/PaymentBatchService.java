@@ -0,0 +1,181 @@
+package com.example.printingApp.service;
+
+import com.example.printingApp.dto.BatchPaymentItem;
+import com.example.printingApp.dto.BatchPaymentResult;
+import com.example.printingApp.dto.PaymentTotalsView;
+import com.example.printingApp.model.AuditLog;
+import com.example.printingApp.model.Payment;
+import com.example.printingApp.repository.PrintJobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies many print-job payments at once. Payments are grouped by job and applied in chunks,
+ * each chunk in its own transaction: one JDBC batch insert into payments, then one balance
+ * increment per job. A failing chunk is reported per item and does not roll back earlier chunks.
+ */
+@Service
+public class PaymentBatchService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO payments (print_job_id, amount, payment_method, reference, type, paid_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private PrintJobRepository printJobRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private AuditLogService auditLogService;
+    @Autowired
+    private DailyPrintStatService dailyPrintStatService;
+
+    @Value("${payments.batch.chunk-size:500}")
+    private int chunkSize;
+
+    public List<BatchPaymentResult> recordPayments(List<BatchPaymentItem> items, String userId, HttpServletRequest request) {
+        BatchPaymentResult[] results = new BatchPaymentResult[items.size()];
+
+        // Validate and group by job, keeping each item's position for the response
+        Map<Long, List<Integer>> indexesByJob = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            BatchPaymentItem item = items.get(i);
+            Long printJobId = item != null ? item.getPrintJobId() : null;
+            if (printJobId == null) {
+                results[i] = BatchPaymentResult.failed(i, null, "Print job id is required");
+            } else if (item.getPayment() == null || item.getPayment().getAmount() == null) {
+                results[i] = BatchPaymentResult.failed(i, printJobId, "Payment amount is required");
+            } else {
+                indexesByJob.computeIfAbsent(printJobId, id -> new ArrayList<>()).add(i);
+            }
+        }
+
+        // One lookup for every referenced job; unknown ids fail without touching the database again
+        Map<Long, PaymentTotalsView> existing = indexesByJob.isEmpty() ? Map.of() :
+                printJobRepository.findPaymentTotalsByIds(indexesByJob.keySet()).stream()
+                        .collect(Collectors.toMap(PaymentTotalsView::getId, Function.identity()));
+        indexesByJob.entrySet().removeIf(entry -> {
+            if (existing.containsKey(entry.getKey())) {
+                return false;
+            }
+            for (Integer i : entry.getValue()) {
+                results[i] = BatchPaymentResult.failed(i, entry.getKey(), "Print job not found");
+            }
+            return true;
+        });
+
+        // Whole job groups per chunk, so a job's payments are never split across transactions
+        List<Long> chunk = new ArrayList<>();
+        int chunkPayments = 0;
+        for (Map.Entry<Long, List<Integer>> entry : indexesByJob.entrySet()) {
+            chunk.add(entry.getKey());
+            chunkPayments += entry.getValue().size();
+            if (chunkPayments >= chunkSize) {
+                applyChunk(chunk, indexesByJob, items, results, userId, request);
+                chunk = new ArrayList<>();
+                chunkPayments = 0;
+            }
+        }
+        if (!chunk.isEmpty()) {
+            applyChunk(chunk, indexesByJob, items, results, userId, request);
+        }
+
+        return List.of(results);
+    }
+
+    private void applyChunk(List<Long> jobIds, Map<Long, List<Integer>> indexesByJob, List<BatchPaymentItem> items,
+                            BatchPaymentResult[] results, String userId, HttpServletRequest request) {
+        List<Object[]> rows = new ArrayList<>();
+        Map<Long, BigDecimal> totalsByJob = new LinkedHashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Long jobId : jobIds) {
+            BigDecimal total = BigDecimal.ZERO;
+            for (Integer i : indexesByJob.get(jobId)) {
+                Payment payment = items.get(i).getPayment();
+                rows.add(new Object[] {
+                        jobId,
+                        payment.getAmount(),
+                        payment.getPaymentMethod(),
+                        payment.getReference(),
+                        payment.getType() != null ? payment.getType().name() : null,
+                        payment.getPaidAt() != null ? payment.getPaidAt() : now
+                });
+                total = total.add(payment.getAmount());
+            }
+            totalsByJob.put(jobId, total);
+        }
+
+        List<PaymentTotalsView> updated;
+        try {
+            updated = transactionTemplate.execute(status -> {
+                Map<Long, DailyPrintStatService.JobStat> statsBefore = dailyPrintStatService.capture(jobIds);
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+                totalsByJob.forEach(printJobRepository::addPayment);
+                dailyPrintStatService.recordChange(statsBefore, jobIds);
+                return printJobRepository.findPaymentTotalsByIds(jobIds);
+            });
+        } catch (Exception e) {
+            System.err.println("Failed to apply payment chunk of " + rows.size() + " payment(s): " + e.getMessage());
+            for (Long jobId : jobIds) {
+                for (Integer i : indexesByJob.get(jobId)) {
+                    results[i] = BatchPaymentResult.failed(i, jobId, "Payment batch failed: " + e.getMessage());
+                }
+            }
+            return;
+        }
+
+        for (PaymentTotalsView totals : updated) {
+            List<Integer> indexes = indexesByJob.get(totals.getId());
+            for (Integer i : indexes) {
+                BatchPaymentResult result = new BatchPaymentResult();
+                result.setIndex(i);
+                result.setPrintJobId(totals.getId());
+                result.setSuccess(true);
+                result.setAmountPaid(totals.getAmountPaid());
+                result.setBalance(totals.getBalance());
+                result.setPaymentStatus(totals.getPaymentStatus());
+                results[i] = result;
+            }
+
+            // One audit entry per job rather than per payment
+            Map<String, Object> summary = new HashMap<>();
+            summary.put("paymentCount", indexes.size());
+            summary.put("totalAmount", totalsByJob.get(totals.getId()));
+            summary.put("amountPaid", totals.getAmountPaid());
+            summary.put("balance", totals.getBalance());
+            summary.put("paymentStatus", totals.getPaymentStatus());
+            auditLogService.logAction(auditEntityType(totals.getPrintType()), totals.getId(),
+                    AuditLog.AuditAction.PAYMENT_RECORDED, null, summary, userId, request);
+        }
+    }
+
+    // Same entity type names the single-payment path derives from the job's class
+    private String auditEntityType(String printType) {
+        if (printType == null) {
+            return "PrintJob";
+        }
+        switch (printType) {
+            case "DIGITAL": return "DigitalPrint";
+            case "OFFSET": return "OffsetPrint";
+            case "DUPLO": return "DuploPrint";
+            case "SUBLIMATION": return "SublimationPrint";
+            case "OTHER": return "OtherPrint";
+            default: return "PrintJob";
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.printingApp.service;
+
+import com.example.printingApp.exception.PrintJobNotFoundException;
+import com.example.printingApp.exception.VersionConflictException;
+import com.example.printingApp.model.AuditLog;
+import com.example.printingApp.model.Customer;
+import com.example.printingApp.model.PrintJob;
+import com.example.printingApp.repository.CustomerRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Applies JSON merge patches (RFC 7386) to print jobs. Only the fields present in the patch are
+ * written onto the loaded entity; with dynamic update Hibernate then updates just the changed
+ * columns, and the entity's own callbacks recompute derived totals as they do on a full save.
+ */
+@Service
+public class PrintJobPatchService {
+
+    // Identity and bookkeeping fields, plus values only payments and the entity callbacks may set
+    private static final Set<String> READ_ONLY_FIELDS = Set.of(
+            "id", "printType", "version", "createdAt", "updatedAt",
+            "amountPaid", "balance", "paymentStatus", "customerName");
+
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private CustomerRepository customerRepository;
+    @Autowired
+    private AuditLogService auditLogService;
+    @Autowired
+    private DailyPrintStatService dailyPrintStatService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional
+    public <T extends PrintJob> T patch(Class<T> type, String entityType, Long id, JsonNode patch,
+                                       String userId, HttpServletRequest request) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("Patch must be a JSON object");
+        }
+        if (patch.has("expenses")) {
+            throw new IllegalArgumentException("Expenses cannot be patched; replace the job instead");
+        }
+        T entity = entityManager.find(type, id);
+        if (entity == null) {
+            throw new PrintJobNotFoundException(entityType, id);
+        }
+
+        // A version in the patch is checked like on a full update; without one the patch always applies
+        JsonNode version = patch.get("version");
+        if (version != null && !version.isNull() && !Objects.equals(version.asLong(), entity.getVersion())) {
+            throw new VersionConflictException(id, entity.getVersion());
+        }
+
+        ObjectNode changes = ((ObjectNode) patch).deepCopy();
+        changes.remove(READ_ONLY_FIELDS);
+        JsonNode customer = changes.remove("customer");
+
+        Map<Long, DailyPrintStatService.JobStat> statsBefore = dailyPrintStatService.capture(id);
+        Object oldValues = auditLogService.snapshot(entity);
+
+        try {
+            objectMapper.readerForUpdating(entity).readValue(changes);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid patch: " + e.getMessage());
+        }
+        if (customer != null) {
+            entity.setCustomer(resolveCustomer(customer));
+        }
+
+        // Runs the @PreUpdate pricing callback and writes only the dirty columns
+        entityManager.flush();
+        dailyPrintStatService.recordChange(statsBefore, id);
+        auditLogService.logAction(entityType, id, AuditLog.AuditAction.UPDATE, oldValues, entity, userId, request);
+        return entity;
+    }
+
+    // The customer is patched by reference: {"customer": {"id": 5}}, or null to detach it
+    private Customer resolveCustomer(JsonNode customer) {
+        if (customer.isNull()) {
+            return null;
+        }
+        JsonNode customerId = customer.path("id");
+        if (!customerId.canConvertToLong()) {
+            throw new IllegalArgumentException("Customer must be given as {\"id\": ...}");
+        }
+        return customerRepository.findById(customerId.asLong())
+                .orElseThrow(() -> new IllegalArgumentException("Customer not found with id: " + customerId.asLong()));
+    }
+}
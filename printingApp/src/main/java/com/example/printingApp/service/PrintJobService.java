@@ -1,14 +1,20 @@
 package com.example.printingApp.service;
 
+import com.example.printingApp.dto.KeysetPage;
+import com.example.printingApp.dto.PrintJobListView;
 import com.example.printingApp.model.*;
 import com.example.printingApp.repository.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.servlet.http.HttpServletRequest;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -19,11 +25,45 @@ public class PrintJobService {
     private PaymentRepository paymentRepository;
     @Autowired
     private AuditLogService auditLogService;
+    @Autowired
+    private DailyPrintStatService dailyPrintStatService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     public List<PrintJob> getAllPrintJobs() {
         return printJobRepository.findAll();
     }
 
+    public KeysetPage<PrintJobListView> getPrintJobPage(LocalDateTime beforeCreatedAt, Long beforeId, int size) {
+        // Fetch one extra row to know whether another page exists
+        List<PrintJobListView> rows = (beforeCreatedAt != null && beforeId != null)
+                ? printJobRepository.findPageBefore(beforeCreatedAt, beforeId, size + 1)
+                : printJobRepository.findPageFirst(size + 1);
+        return toPage(rows, size);
+    }
+
+    public KeysetPage<PrintJobListView> getCustomerPrintJobPage(Long customerId, LocalDateTime beforeCreatedAt,
+                                                                Long beforeId, int size) {
+        List<PrintJobListView> rows = (beforeCreatedAt != null && beforeId != null)
+                ? printJobRepository.findCustomerPageBefore(customerId, beforeCreatedAt, beforeId, size + 1)
+                : printJobRepository.findCustomerPageFirst(customerId, size + 1);
+        return toPage(rows, size);
+    }
+
+    private KeysetPage<PrintJobListView> toPage(List<PrintJobListView> rows, int size) {
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+
+        PrintJobListView last = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+        return new KeysetPage<>(rows,
+                last != null ? last.getCreatedAt() : null,
+                last != null ? last.getId() : null,
+                hasMore);
+    }
+
     public Optional<PrintJob> getPrintJobById(Long id) {
         return printJobRepository.findById(id);
     }
@@ -46,18 +86,20 @@ public class PrintJobService {
         PrintJob printJob = printJobRepository.findById(printJobId)
                 .orElseThrow(() -> new RuntimeException("Print job not found"));
 
+        Map<Long, DailyPrintStatService.JobStat> statsBefore = dailyPrintStatService.capture(printJobId);
+
         payment.setPrintJob(printJob);
         Payment savedPayment = paymentRepository.save(payment);
 
-        // Update the total paid amount
-        BigDecimal totalPaid = paymentRepository.findByPrintJobId(printJobId)
-                .stream()
-                .map(Payment::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Increment the running total in the database instead of re-summing every payment
+        BigDecimal amount = payment.getAmount() != null ? payment.getAmount() : BigDecimal.ZERO;
+        if (printJobRepository.addPayment(printJobId, amount) == 0) {
+            throw new RuntimeException("Print job not found");
+        }
+        dailyPrintStatService.recordChange(statsBefore, printJobId);
 
-        printJob.setAmountPaid(totalPaid);
-        printJob.updatePaymentStatus();
-        printJobRepository.save(printJob);
+        // The increment bypassed the persistence context; reload the job's totals and version
+        entityManager.refresh(printJob);
 
         // Log audit action
         String entityType = printJob.getClass().getSimpleName();
@@ -0,0 +1,129 @@
+package com.example.printingApp.service;
+
+import com.example.printingApp.dto.QuoteItem;
+import com.example.printingApp.dto.QuoteResult;
+import com.example.printingApp.model.DigitalPrint;
+import com.example.printingApp.model.DuploPrint;
+import com.example.printingApp.model.OffsetPrint;
+import com.example.printingApp.model.PrintExpense;
+import com.example.printingApp.model.SublimationPrint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Prices candidate jobs without saving them. Each item is copied onto a transient entity of its
+ * print type and run through that entity's own pricing callback, so quotes always match what a
+ * save would compute. Sublimation unit prices come from the in-memory master price table.
+ */
+@Service
+public class QuoteService {
+
+    @Autowired
+    private SublimationPriceCache sublimationPriceCache;
+
+    public List<QuoteResult> quote(List<QuoteItem> items) {
+        List<QuoteResult> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            QuoteItem item = items.get(i);
+            String printType = item != null && item.getPrintType() != null ? item.getPrintType().name() : null;
+            try {
+                results.add(quote(i, item));
+            } catch (IllegalArgumentException e) {
+                results.add(QuoteResult.failed(i, printType, e.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    private QuoteResult quote(int index, QuoteItem item) {
+        if (item == null || item.getPrintType() == null) {
+            throw new IllegalArgumentException("Print type is required");
+        }
+        if (item.getExpenses() != null && item.getExpenses().stream().anyMatch(e -> e == null || e.getAmount() == null)) {
+            throw new IllegalArgumentException("Every expense needs an amount");
+        }
+        List<PrintExpense> expenses = item.getExpenses() != null ? item.getExpenses() : new ArrayList<>();
+
+        switch (item.getPrintType()) {
+            case DIGITAL: {
+                DigitalPrint print = new DigitalPrint();
+                print.setExpenses(expenses);
+                print.setExpensesCost(item.getTotalCost() != null ? item.getTotalCost() : print.getTotalExpenses());
+                print.setTotalAmount(require(item.getTotalAmount(), "Total amount is required for digital prints"));
+                print.setAmountPaid(BigDecimal.ZERO);
+                print.calculateTotalAmount();
+                return result(index, item, null, print.getExpensesCost(), print.getTotalAmount());
+            }
+            case OFFSET: {
+                OffsetPrint print = new OffsetPrint();
+                print.setExpenses(expenses);
+                print.setSupplierJobAmount(require(item.getSupplierJobAmount(), "Supplier job amount is required for offset prints"));
+                print.setTotalAmount(require(item.getTotalAmount(), "Total amount is required for offset prints"));
+                print.setAmountPaid(BigDecimal.ZERO);
+                print.calculateTotalCost();
+                return result(index, item, null, print.getExpensesCost(), print.getTotalAmount());
+            }
+            case DUPLO: {
+                DuploPrint print = new DuploPrint();
+                print.setExpenses(expenses);
+                print.setBaseCost(item.getBaseCost());
+                print.setOtherExpenses(item.getOtherExpenses());
+                print.setProfitPercentage(item.getProfitPercentage());
+                print.setAmountPaid(BigDecimal.ZERO);
+                print.calculateTotalAmount();
+                return result(index, item, null, print.getExpensesCost(), print.getTotalAmount());
+            }
+            case SUBLIMATION: {
+                BigDecimal unitPrice = item.getUnitPrice();
+                if (unitPrice == null) {
+                    if (item.getSublimationType() == null) {
+                        throw new IllegalArgumentException("Sublimation type or unit price is required");
+                    }
+                    unitPrice = require(sublimationPriceCache.getUnitPrice(item.getSublimationType()),
+                            "No active price for " + item.getSublimationType().name());
+                }
+                SublimationPrint print = new SublimationPrint();
+                print.setExpenses(expenses);
+                print.setSublimationType(item.getSublimationType());
+                print.setQuantity(item.getQuantity());
+                print.setUnitPrice(unitPrice);
+                print.setProfitPercentage(item.getProfitPercentage());
+                print.setOtherExpenses(item.getOtherExpenses());
+                print.setAmountPaid(BigDecimal.ZERO);
+                print.calculateTotalAmount();
+                return result(index, item, unitPrice, print.getSubtotal(), print.getTotalAmount());
+            }
+            case OTHER: {
+                // Other prints carry their own cost and amount
+                BigDecimal totalCost = require(item.getTotalCost(), "Total cost is required for other prints");
+                BigDecimal totalAmount = require(item.getTotalAmount(), "Total amount is required for other prints");
+                return result(index, item, null, totalCost, totalAmount);
+            }
+            default:
+                throw new IllegalArgumentException("Unsupported print type: " + item.getPrintType());
+        }
+    }
+
+    private QuoteResult result(int index, QuoteItem item, BigDecimal unitPrice, BigDecimal subtotal, BigDecimal totalAmount) {
+        QuoteResult result = new QuoteResult();
+        result.setIndex(index);
+        result.setPrintType(item.getPrintType().name());
+        result.setSuccess(true);
+        result.setUnitPrice(unitPrice);
+        result.setSubtotal(subtotal);
+        result.setProfit(totalAmount.subtract(subtotal));
+        result.setTotalAmount(totalAmount);
+        return result;
+    }
+
+    private <T> T require(T value, String message) {
+        if (value == null) {
+            throw new IllegalArgumentException(message);
+        }
+        return value;
+    }
+}
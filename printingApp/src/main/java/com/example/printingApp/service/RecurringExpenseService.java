@@ -8,7 +8,13 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -20,6 +26,9 @@ public class RecurringExpenseService {
     @Autowired
     private MonthlyExpenseEntryRepository monthlyExpenseEntryRepository;
 
+    @Autowired
+    private MonthlyEntryGenerator monthlyEntryGenerator;
+
     public List<RecurringExpense> getAllRecurringExpenses() {
         return recurringExpenseRepository.findAll();
     }
@@ -68,26 +77,53 @@ public class RecurringExpenseService {
     // Generate monthly entries for expenses that are due
     @Transactional
     public void generateMonthlyEntries(int year, int month) {
-        List<RecurringExpense> activeExpenses = getActiveRecurringExpenses();
+        YearMonth period = YearMonth.of(year, month);
+        generateMonthlyEntries(period, period);
+    }
 
-        for (RecurringExpense expense : activeExpenses) {
-            if (expense.getAutoGenerate() && expense.isDueForMonth(year, month)) {
-                // Check if entry already exists
-                Optional<MonthlyExpenseEntry> existingEntry = monthlyExpenseEntryRepository
-                        .findByRecurringExpenseAndYearAndMonth(expense, year, month);
-
-                if (existingEntry.isEmpty()) {
-                    MonthlyExpenseEntry entry = new MonthlyExpenseEntry();
-                    entry.setRecurringExpense(expense);
-                    entry.setYear(year);
-                    entry.setMonth(month);
-                    entry.setAmount(expense.getAmount());
-                    entry.setPaymentStatus(MonthlyExpenseEntry.PaymentStatus.UNPAID);
-
-                    monthlyExpenseEntryRepository.save(entry);
-                }
-            }
+    // Backfill every month in the (inclusive) range in one pass
+    @Transactional
+    public int generateMonthlyEntries(YearMonth from, YearMonth to) {
+        return monthlyEntryGenerator.generate(getActiveRecurringExpenses(), from, to);
+    }
+
+    // Projected outflow of all active recurring expenses over a month range, computed in memory
+    public Map<String, Object> getForecast(YearMonth from, YearMonth to) {
+        Map<YearMonth, BigDecimal> totalByMonth = new LinkedHashMap<>();
+        Map<YearMonth, Map<RecurringExpenseCategory, BigDecimal>> categoriesByMonth = new LinkedHashMap<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            totalByMonth.put(month, BigDecimal.ZERO);
+            categoriesByMonth.put(month, new EnumMap<>(RecurringExpenseCategory.class));
+        }
+        Map<RecurringExpenseCategory, BigDecimal> totalByCategory = new EnumMap<>(RecurringExpenseCategory.class);
+        BigDecimal grandTotal = BigDecimal.ZERO;
+
+        for (MonthlyEntryGenerator.DueEntry entry : monthlyEntryGenerator.expand(getActiveRecurringExpenses(), from, to)) {
+            BigDecimal amount = entry.getExpense().getAmount();
+            RecurringExpenseCategory category = entry.getExpense().getCategory();
+            totalByMonth.merge(entry.getMonth(), amount, BigDecimal::add);
+            categoriesByMonth.get(entry.getMonth()).merge(category, amount, BigDecimal::add);
+            totalByCategory.merge(category, amount, BigDecimal::add);
+            grandTotal = grandTotal.add(amount);
         }
+
+        List<Map<String, Object>> months = new ArrayList<>();
+        totalByMonth.forEach((month, total) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("year", month.getYear());
+            row.put("month", month.getMonthValue());
+            row.put("total", total);
+            row.put("byCategory", categoriesByMonth.get(month));
+            months.add(row);
+        });
+
+        Map<String, Object> forecast = new HashMap<>();
+        forecast.put("from", from.toString());
+        forecast.put("to", to.toString());
+        forecast.put("months", months);
+        forecast.put("totalByCategory", totalByCategory);
+        forecast.put("total", grandTotal);
+        return forecast;
     }
 
     // Auto-generate entries for current month
@@ -6,15 +6,36 @@ import com.example.printingApp.model.User;
 import com.example.printingApp.repository.RefreshTokenRepository;
 import com.example.printingApp.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Issues, verifies and revokes refresh tokens. Only a SHA-256 hex digest of each token is stored;
+ * a bounded in-memory map remembers whether recently seen tokens are still valid, so revoked or
+ * expired tokens are turned away without a database lookup.
+ */
 @Service
 public class RefreshTokenService {
 
+    private static final String PURGE_REVOKED_SQL =
+            "DELETE FROM refresh_tokens WHERE id IN (SELECT id FROM refresh_tokens WHERE revoked LIMIT ?)";
+
     @Autowired
     private RefreshTokenRepository refreshTokenRepository;
 
@@ -24,29 +45,60 @@ public class RefreshTokenService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${refresh-token.cache.max-size:1000}")
+    private int cacheMaxSize;
+
+    @Value("${refresh-token.purge.batch-size:1000}")
+    private int purgeBatchSize;
+
+    // Keyed by token digest
+    private final ConcurrentHashMap<String, TokenState> states = new ConcurrentHashMap<>();
+
     @Transactional
     public RefreshToken createRefreshToken(User user) {
         // Revoke all existing refresh tokens for this user
-        refreshTokenRepository.revokeAllUserTokens(user.getId(), LocalDateTime.now());
+        revokeAllUserTokens(user);
 
         // Create new refresh token
+        String token = jwtUtil.generateRefreshToken();
         RefreshToken refreshToken = new RefreshToken();
         // Use a fresh user reference from database to avoid password=null issue
         User userRef = userRepository.getReferenceById(user.getId());
         refreshToken.setUser(userRef);
-        refreshToken.setToken(jwtUtil.generateRefreshToken());
+        refreshToken.setToken(hash(token));
         refreshToken.setExpiryDate(jwtUtil.getRefreshTokenExpiryDate());
 
-        return refreshTokenRepository.save(refreshToken);
+        RefreshToken saved = refreshTokenRepository.save(refreshToken);
+        saved.setPlainToken(token);
+        remember(saved.getToken(), new TokenState(user.getId(), saved.getExpiryDate(), false));
+        return saved;
     }
 
+    // Known revoked or expired tokens are rejected from memory; anything else is looked up by digest
     public Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
+        String digest = hash(token);
+        TokenState state = states.get(digest);
+        if (state != null && !state.isValid()) {
+            return Optional.empty();
+        }
+        Optional<RefreshToken> refreshToken = refreshTokenRepository.findByToken(digest);
+        refreshToken.ifPresent(rt -> remember(digest, TokenState.of(rt)));
+        return refreshToken;
     }
 
     public RefreshToken verifyExpiration(RefreshToken token) {
+        if (token.isRevoked()) {
+            throw new RuntimeException("Refresh token was revoked. Please make a new signin request");
+        }
         if (token.isExpired()) {
             refreshTokenRepository.delete(token);
+            states.remove(token.getToken());
             throw new RuntimeException("Refresh token was expired. Please make a new signin request");
         }
         return token;
@@ -57,11 +109,13 @@ public class RefreshTokenService {
         refreshToken.setRevoked(true);
         refreshToken.setRevokedAt(LocalDateTime.now());
         refreshTokenRepository.save(refreshToken);
+        remember(refreshToken.getToken(), TokenState.of(refreshToken));
     }
 
     @Transactional
     public void revokeAllUserTokens(User user) {
         refreshTokenRepository.revokeAllUserTokens(user.getId(), LocalDateTime.now());
+        states.replaceAll((digest, state) -> Objects.equals(state.userId, user.getId()) ? state.revoke() : state);
     }
 
     @Transactional
@@ -70,12 +124,103 @@ public class RefreshTokenService {
     }
 
     public boolean isValidRefreshToken(String token) {
-        Optional<RefreshToken> refreshTokenOpt = findByToken(token);
+        String digest = hash(token);
+        TokenState state = states.get(digest);
+        if (state != null) {
+            return state.isValid();
+        }
+        Optional<RefreshToken> refreshTokenOpt = refreshTokenRepository.findByToken(digest);
         if (refreshTokenOpt.isEmpty()) {
             return false;
         }
-        
+
         RefreshToken refreshToken = refreshTokenOpt.get();
+        remember(digest, TokenState.of(refreshToken));
         return refreshToken.isValid();
     }
-}
\ No newline at end of file
+
+    // Deletes expired tokens, then revoked ones in bounded batches (each its own short transaction)
+    @Scheduled(cron = "${refresh-token.purge.cron:0 30 3 * * *}")
+    public void purgeTokens() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> cleanupExpiredTokens());
+            int deleted;
+            do {
+                deleted = jdbcTemplate.update(PURGE_REVOKED_SQL, purgeBatchSize);
+            } while (deleted == purgeBatchSize);
+            states.values().removeIf(state -> !state.isValid());
+        } catch (Exception e) {
+            System.err.println("Refresh token purge failed: " + e.getMessage());
+        }
+    }
+
+    // Rows written before tokens were hashed still hold the plain UUID; hash them in place and
+    // narrow the column to the digest width. Both steps are no-ops once done.
+    @EventListener(ApplicationReadyEvent.class)
+    public void migratePlainTokens() {
+        try {
+            int hashed = jdbcTemplate.update(
+                    "UPDATE refresh_tokens SET token = encode(sha256(convert_to(token, 'UTF8')), 'hex') " +
+                    "WHERE length(token) <> 64");
+            if (hashed > 0) {
+                System.err.println("Hashed " + hashed + " stored refresh token(s)");
+            }
+            Integer width = jdbcTemplate.queryForObject(
+                    "SELECT character_maximum_length FROM information_schema.columns " +
+                    "WHERE table_name = 'refresh_tokens' AND column_name = 'token'", Integer.class);
+            if (width != null && width != 64) {
+                jdbcTemplate.execute("ALTER TABLE refresh_tokens ALTER COLUMN token TYPE varchar(64)");
+            }
+        } catch (Exception e) {
+            System.err.println("Could not migrate stored refresh tokens: " + e.getMessage());
+        }
+    }
+
+    private void remember(String digest, TokenState state) {
+        if (states.size() >= cacheMaxSize && !states.containsKey(digest)) {
+            states.values().removeIf(existing -> !existing.isValid());
+            if (states.size() >= cacheMaxSize) {
+                // Still full of live tokens: drop the one that expires first
+                states.entrySet().stream()
+                        .min((a, b) -> a.getValue().expiryDate.compareTo(b.getValue().expiryDate))
+                        .map(Map.Entry::getKey)
+                        .ifPresent(states::remove);
+            }
+        }
+        states.put(digest, state);
+    }
+
+    private String hash(String token) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(md.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static class TokenState {
+        private final Long userId;
+        private final LocalDateTime expiryDate;
+        private final boolean revoked;
+
+        TokenState(Long userId, LocalDateTime expiryDate, boolean revoked) {
+            this.userId = userId;
+            this.expiryDate = expiryDate;
+            this.revoked = revoked;
+        }
+
+        static TokenState of(RefreshToken token) {
+            Long userId = token.getUser() != null ? token.getUser().getId() : null;
+            return new TokenState(userId, token.getExpiryDate(), token.isRevoked());
+        }
+
+        TokenState revoke() {
+            return revoked ? this : new TokenState(userId, expiryDate, true);
+        }
+
+        boolean isValid() {
+            return !revoked && LocalDateTime.now().isBefore(expiryDate);
+        }
+    }
+}
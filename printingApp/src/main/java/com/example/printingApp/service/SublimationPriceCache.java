@@ -0,0 +1,72 @@
+package com.example.printingApp.service;
+
+import com.example.printingApp.model.SublimationPrice;
+import com.example.printingApp.model.SublimationType;
+import com.example.printingApp.repository.SublimationPriceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Active unit price per sublimation type, held in memory. The table is loaded at startup and
+ * rebuilt after every committed price change; readers always see one complete snapshot, so a
+ * lookup is a plain map read.
+ */
+@Service
+public class SublimationPriceCache {
+
+    @Autowired
+    private SublimationPriceRepository sublimationPriceRepository;
+
+    private volatile Map<SublimationType, BigDecimal> prices = Collections.emptyMap();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            reload();
+        } catch (Exception e) {
+            System.err.println("Could not load sublimation prices: " + e.getMessage());
+        }
+    }
+
+    // Active price for the type, or null if none is set
+    public BigDecimal getUnitPrice(SublimationType sublimationType) {
+        return prices.get(sublimationType);
+    }
+
+    public Map<SublimationType, BigDecimal> getPrices() {
+        return prices;
+    }
+
+    // Reloads once the surrounding transaction commits, so a rolled-back change never reaches the cache
+    public void reloadAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            reload();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reload();
+            }
+        });
+    }
+
+    // Latest active row wins if a type ever has more than one. Synchronized so overlapping reloads
+    // publish in the order they read, never an older snapshot over a newer one
+    public synchronized void reload() {
+        Map<SublimationType, BigDecimal> loaded = new EnumMap<>(SublimationType.class);
+        for (SublimationPrice price : sublimationPriceRepository.findLatestActivePrices()) {
+            loaded.put(price.getSublimationType(), price.getUnitPrice());
+        }
+        prices = Collections.unmodifiableMap(loaded);
+    }
+}
@@ -4,10 +4,15 @@ import com.example.printingApp.model.SublimationPrice;
 import com.example.printingApp.model.SublimationType;
 import com.example.printingApp.repository.SublimationPriceRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -15,6 +20,30 @@ public class SublimationPriceService {
 
     @Autowired
     private SublimationPriceRepository sublimationPriceRepository;
+    @Autowired
+    private SublimationPriceCache sublimationPriceCache;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // At most one active price per type, enforced by the database. Duplicates left over from before
+    // the index existed are resolved first by keeping the latest active row of each type.
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureSingleActivePriceIndex() {
+        try {
+            int deactivated = jdbcTemplate.update(
+                    "UPDATE sublimation_prices sp SET is_active = false, updated_at = now() " +
+                    "WHERE sp.is_active AND EXISTS (SELECT 1 FROM sublimation_prices newer " +
+                    "WHERE newer.sublimation_type = sp.sublimation_type AND newer.is_active AND newer.id > sp.id)");
+            if (deactivated > 0) {
+                System.err.println("Deactivated " + deactivated + " duplicate active sublimation price(s)");
+            }
+            jdbcTemplate.execute(
+                    "CREATE UNIQUE INDEX IF NOT EXISTS uk_sublimation_prices_active_type " +
+                    "ON sublimation_prices (sublimation_type) WHERE is_active");
+        } catch (Exception e) {
+            System.err.println("Could not create active sublimation price index: " + e.getMessage());
+        }
+    }
 
     public List<SublimationPrice> getAllActivePrices() {
         return sublimationPriceRepository.findByIsActiveTrue();
@@ -32,26 +61,25 @@ public class SublimationPriceService {
         return sublimationPriceRepository.findBySublimationTypeAndIsActiveTrue(sublimationType);
     }
 
+    // Served from the in-memory price table
+    public Map<SublimationType, BigDecimal> getCurrentPrices() {
+        return sublimationPriceCache.getPrices();
+    }
+
     public List<SublimationPrice> getLatestActivePrices() {
         return sublimationPriceRepository.findLatestActivePrices();
     }
 
     @Transactional
     public SublimationPrice savePrice(SublimationPrice price) {
-        // When saving a new price, optionally deactivate old prices of the same type
-        if (price.getId() == null && price.getIsActive()) {
-            // Deactivate existing active prices for this type
-            Optional<SublimationPrice> existingPrice =
-                    sublimationPriceRepository.findBySublimationTypeAndIsActiveTrue(price.getSublimationType());
-
-            if (existingPrice.isPresent()) {
-                SublimationPrice existing = existingPrice.get();
-                existing.setIsActive(false);
-                sublimationPriceRepository.save(existing);
-            }
+        // A new active price replaces the current one for its type
+        if (price.getId() == null && Boolean.TRUE.equals(price.getIsActive())) {
+            sublimationPriceRepository.deactivateActivePrices(price.getSublimationType());
         }
 
-        return sublimationPriceRepository.save(price);
+        SublimationPrice saved = sublimationPriceRepository.saveAndFlush(price);
+        sublimationPriceCache.reloadAfterCommit();
+        return saved;
     }
 
     @Transactional
@@ -60,7 +88,12 @@ public class SublimationPriceService {
                 .map(existingPrice -> {
                     price.setId(id);
                     price.setCreatedAt(existingPrice.getCreatedAt()); // Preserve creation date
-                    return sublimationPriceRepository.save(price);
+                    if (Boolean.TRUE.equals(price.getIsActive())) {
+                        sublimationPriceRepository.deactivateOtherActivePrices(price.getSublimationType(), id);
+                    }
+                    SublimationPrice saved = sublimationPriceRepository.saveAndFlush(price);
+                    sublimationPriceCache.reloadAfterCommit();
+                    return saved;
                 })
                 .orElseThrow(() -> new RuntimeException("Sublimation price not found with id: " + id));
     }
@@ -68,6 +101,7 @@ public class SublimationPriceService {
     @Transactional
     public void deletePrice(Long id) {
         sublimationPriceRepository.deleteById(id);
+        sublimationPriceCache.reloadAfterCommit();
     }
 
     @Transactional
@@ -75,25 +109,19 @@ public class SublimationPriceService {
         getPriceById(id).ifPresent(price -> {
             price.setIsActive(false);
             sublimationPriceRepository.save(price);
+            sublimationPriceCache.reloadAfterCommit();
         });
     }
 
     @Transactional
     public void activatePrice(Long id) {
         getPriceById(id).ifPresent(price -> {
-            // First deactivate any existing active price for this type
-            Optional<SublimationPrice> existingActivePrice =
-                    sublimationPriceRepository.findBySublimationTypeAndIsActiveTrue(price.getSublimationType());
-
-            if (existingActivePrice.isPresent()) {
-                SublimationPrice existing = existingActivePrice.get();
-                existing.setIsActive(false);
-                sublimationPriceRepository.save(existing);
-            }
-
-            // Then activate this price
+            // Switch off the current active price in one statement, then activate this one;
+            // the partial unique index rejects a concurrent switch instead of leaving two active
+            sublimationPriceRepository.deactivateOtherActivePrices(price.getSublimationType(), id);
             price.setIsActive(true);
-            sublimationPriceRepository.save(price);
+            sublimationPriceRepository.saveAndFlush(price);
+            sublimationPriceCache.reloadAfterCommit();
         });
     }
 }
\ No newline at end of file
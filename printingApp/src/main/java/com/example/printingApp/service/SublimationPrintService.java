@@ -1,5 +1,6 @@
 package com.example.printingApp.service;
 
+import com.example.printingApp.exception.VersionConflictException;
 import com.example.printingApp.model.*;
 import com.example.printingApp.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +10,7 @@ import org.springframework.transaction.annotation.Transactional;
 import jakarta.servlet.http.HttpServletRequest;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -21,10 +23,12 @@ public class SublimationPrintService {
     private CustomerRepository customerRepository;
 
     @Autowired
-    private SublimationPriceRepository sublimationPriceRepository;
+    private SublimationPriceCache sublimationPriceCache;
 
     @Autowired
     private AuditLogService auditLogService;
+    @Autowired
+    private DailyPrintStatService dailyPrintStatService;
 
     public List<SublimationPrint> getAllSublimationPrints() {
         return sublimationPrintRepository.findAll();
@@ -49,12 +53,26 @@ public class SublimationPrintService {
 
     @Transactional
     public SublimationPrint saveSublimationPrint(SublimationPrint sublimationPrint, String userId, HttpServletRequest request) {
+        SublimationPrint oldEntity = sublimationPrint.getId() != null ? sublimationPrintRepository.findById(sublimationPrint.getId()).orElse(null) : null;
+        return saveSublimationPrint(sublimationPrint, oldEntity, userId, request);
+    }
+
+    // oldEntity is the already-loaded current row for an update, or null for a create
+    private SublimationPrint saveSublimationPrint(SublimationPrint sublimationPrint, SublimationPrint oldEntity, String userId, HttpServletRequest request) {
         boolean isUpdate = sublimationPrint.getId() != null;
-        SublimationPrint oldEntity = null;
-        
-        if (isUpdate) {
-            oldEntity = sublimationPrintRepository.findById(sublimationPrint.getId()).orElse(null);
+        Object oldValues = null;
+
+        if (oldEntity != null) {
+            if (sublimationPrint.getVersion() == null) {
+                // Clients that don't send a version keep last-write-wins behaviour
+                sublimationPrint.setVersion(oldEntity.getVersion());
+            } else if (!sublimationPrint.getVersion().equals(oldEntity.getVersion())) {
+                throw new VersionConflictException(oldEntity.getId(), oldEntity.getVersion());
+            }
+            // Saving merges into oldEntity, so take the audit copy first
+            oldValues = auditLogService.snapshot(oldEntity);
         }
+        Map<Long, DailyPrintStatService.JobStat> statsBefore = dailyPrintStatService.capture(sublimationPrint.getId());
         // Ensure print type is set
         sublimationPrint.setPrintType(PrintJob.PrintType.SUBLIMATION);
 
@@ -70,16 +88,6 @@ public class SublimationPrintService {
             sublimationPrint.setCustomer(customer);
         }
 
-        // Validate sublimation type and unit price
-        if (sublimationPrint.getSublimationType() != null && sublimationPrint.getUnitPrice() != null) {
-            // Optionally validate that the unit price matches current master data
-            Optional<SublimationPrice> masterPrice = sublimationPriceRepository
-                    .findBySublimationTypeAndIsActiveTrue(sublimationPrint.getSublimationType());
-
-            // Note: We don't enforce the master price, just use it as reference
-            // The user can override the price if needed
-        }
-
         // Handle expenses if provided from frontend
         if (sublimationPrint.getExpenses() != null) {
             // Set the sublimation print reference on each expense
@@ -98,10 +106,11 @@ public class SublimationPrintService {
         }
 
         SublimationPrint savedEntity = sublimationPrintRepository.save(sublimationPrint);
+        dailyPrintStatService.recordChange(statsBefore, savedEntity.getId());
 
         // Log audit action
         AuditLog.AuditAction action = isUpdate ? AuditLog.AuditAction.UPDATE : AuditLog.AuditAction.CREATE;
-        auditLogService.logAction("SublimationPrint", savedEntity.getId(), action, oldEntity, savedEntity, userId, request);
+        auditLogService.logAction("SublimationPrint", savedEntity.getId(), action, oldValues, savedEntity, userId, request);
 
         return savedEntity;
     }
@@ -115,8 +124,10 @@ public class SublimationPrintService {
     public void deleteSublimationPrint(Long id, String userId, HttpServletRequest request) {
         SublimationPrint sublimationPrint = sublimationPrintRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("SublimationPrint not found"));
-        
+        Map<Long, DailyPrintStatService.JobStat> statsBefore = dailyPrintStatService.capture(id);
+
         sublimationPrintRepository.deleteById(id);
+        dailyPrintStatService.recordChange(statsBefore, id);
         
         // Log audit action
         auditLogService.logAction("SublimationPrint", id, AuditLog.AuditAction.DELETE, sublimationPrint, null, userId, request);
@@ -133,15 +144,14 @@ public class SublimationPrintService {
                 .map(existingPrint -> {
                     sublimationPrint.setId(id);
                     sublimationPrint.setCreatedAt(existingPrint.getCreatedAt()); // Preserve creation date
-                    return saveSublimationPrint(sublimationPrint, userId, request);
+                    return saveSublimationPrint(sublimationPrint, existingPrint, userId, request);
                 })
                 .orElseThrow(() -> new RuntimeException("Sublimation print not found with id: " + id));
     }
 
     // Get current unit price for a sublimation type
     public BigDecimal getCurrentUnitPrice(SublimationType sublimationType) {
-        return sublimationPriceRepository.findBySublimationTypeAndIsActiveTrue(sublimationType)
-                .map(SublimationPrice::getUnitPrice)
-                .orElse(BigDecimal.ZERO);
+        BigDecimal unitPrice = sublimationPriceCache.getUnitPrice(sublimationType);
+        return unitPrice != null ? unitPrice : BigDecimal.ZERO;
     }
 }
\ No newline at end of file
@@ -20,6 +20,9 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private PasswordHasher passwordHasher;
+
     // Get all users
     public List<User> getAllUsers() {
         return userRepository.findAll();
@@ -151,29 +154,20 @@ public class UserService {
     public User authenticateUser(String usernameOrEmail, String password) {
         Optional<User> userOpt = userRepository.findByUsernameOrEmail(usernameOrEmail);
 
-
         if (userOpt.isPresent()) {
             User user = userOpt.get();
 
-            // ADD THESE DEBUG LINES
-            System.out.println("=== DEBUG AUTHENTICATION ===");
-            System.out.println("Input username/email: " + usernameOrEmail);
-            System.out.println("Input password: " + password);
-            System.out.println("Found user: " + user.getUsername());
-            System.out.println("Stored password: " + user.getPassword());
-            System.out.println("Password starts with $2a: " + (user.getPassword() != null && user.getPassword().startsWith("$2a")));
-            System.out.println("Password length: " + (user.getPassword() != null ? user.getPassword().length() : "null"));
-            System.out.println("Is active: " + user.getIsActive());
-            System.out.println("===============================");
-
-
             // Check if user is active
             if (!user.getIsActive()) {
                 throw new RuntimeException("User account is deactivated");
             }
 
-            // Check password
-            if (passwordEncoder.matches(password, user.getPassword())) {
+            // Check password on the hashing pool rather than this request thread
+            PasswordHasher.Verification verification = passwordHasher.verify(password, user.getPassword());
+            if (verification.matches()) {
+                if (verification.getNewHash() != null) {
+                    user.setPassword(verification.getNewHash());
+                }
                 // Update last login time
                 user.setLastLoginAt(LocalDateTime.now());
                 User savedUser = userRepository.save(user);